@@ -2,33 +2,33 @@ package ru.practicum.shareit.booking;
 
 import java.util.Map;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import ru.practicum.shareit.booking.dto.BookingBatchApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingRqDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerStream;
+import ru.practicum.shareit.client.ServerTransportFactory;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
-    @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    private final ServerStream streams;
+
+    public BookingClient(ServerTransportFactory transportFactory) {
+        super(transportFactory.create(API_PREFIX));
+        this.streams = transportFactory.createStream(API_PREFIX);
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getBookings(long userId, BookingState state, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -37,20 +37,41 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> bookItem(long userId, BookingRqDto requestDto) {
+    public Mono<ResponseEntity<Object>> getBookingsPage(long userId, BookingState state, String cursor, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "cursor", cursor,
+                "size", size
+        );
+        return get("?state={state}&cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> bookItem(long userId, BookingRqDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> approveBooking(long ownerId, Long bookingId, boolean approved) {
+    public Mono<ResponseEntity<Flux<ServerSentEvent<String>>>> subscribeToStatusEvents(long userId) {
+        return streams.events("/events", userId);
+    }
+
+    public Mono<ResponseEntity<ResponseBodyEmitter>> exportBookings(long userId) {
+        return streams.ndjson("/export", userId);
+    }
+
+    public Mono<ResponseEntity<Object>> approveBooking(long ownerId, Long bookingId, boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", ownerId, parameters, null);
     }
 
-    public ResponseEntity<Object> getOwnerBookings(long ownerId, BookingState state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> approveBookings(long ownerId, BookingBatchApprovalDto batchApprovalDto) {
+        return patch("/batch", ownerId, batchApprovalDto);
+    }
+
+    public Mono<ResponseEntity<Object>> getOwnerBookings(long ownerId, BookingState state, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -58,4 +79,13 @@ public class BookingClient extends BaseClient {
         );
         return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters);
     }
+
+    public Mono<ResponseEntity<Object>> getOwnerBookingsPage(long ownerId, BookingState state, String cursor, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "cursor", cursor,
+                "size", size
+        );
+        return get("/owner?state={state}&cursor={cursor}&size={size}", ownerId, parameters);
+    }
 }
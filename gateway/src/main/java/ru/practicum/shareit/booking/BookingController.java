@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,11 +13,16 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingBatchApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingRqDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.util.validation.groups.Create;
@@ -32,45 +39,75 @@ public class BookingController {
 	private final BookingClient bookingClient;
 
 	@GetMapping
-	public ResponseEntity<Object> getBookings(@RequestHeader(USER_ID_HEADER) long userId,
+	public Mono<ResponseEntity<Object>> getBookings(@RequestHeader(USER_ID_HEADER) long userId,
 											  @RequestParam(name = "state", defaultValue = "all") String stateParam,
 											  @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-											  @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+											  @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+											  @RequestParam(name = "cursor", required = false) String cursor) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+		if (cursor != null) {
+			log.info("Get booking page with state {}, userId={}, cursor={}, size={}", stateParam, userId, cursor, size);
+			return bookingClient.getBookingsPage(userId, state, cursor, size);
+		}
 		log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
 		return bookingClient.getBookings(userId, state, from, size);
 	}
 
 	@PostMapping
-	public ResponseEntity<Object> bookItem(@RequestHeader(USER_ID_HEADER) long userId,
+	public Mono<ResponseEntity<Object>> bookItem(@RequestHeader(USER_ID_HEADER) long userId,
 										   @RequestBody @Validated(Create.class) BookingRqDto requestDto) {
 		log.info("Creating booking {}, userId={}", requestDto, userId);
 		return bookingClient.bookItem(userId, requestDto);
 	}
 
+	@GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public Mono<ResponseEntity<Flux<ServerSentEvent<String>>>> subscribeToStatusEvents(
+			@RequestHeader(USER_ID_HEADER) long userId) {
+		log.info("Subscribe to booking status events, userId={}", userId);
+		return bookingClient.subscribeToStatusEvents(userId);
+	}
+
+	@GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public Mono<ResponseEntity<ResponseBodyEmitter>> exportBookings(@RequestHeader(USER_ID_HEADER) long userId) {
+		log.info("Export bookings, userId={}", userId);
+		return bookingClient.exportBookings(userId);
+	}
+
 	@GetMapping("/{bookingId}")
-	public ResponseEntity<Object> getBooking(@RequestHeader(USER_ID_HEADER) long userId,
+	public Mono<ResponseEntity<Object>> getBooking(@RequestHeader(USER_ID_HEADER) long userId,
 											 @PathVariable("bookingId") Long bookingId) {
 		log.info("Get booking {}, userId={}", bookingId, userId);
 		return bookingClient.getBooking(userId, bookingId);
 	}
 
 	@PatchMapping("/{bookingId}")
-	public ResponseEntity<Object> approveBooking(@RequestHeader(USER_ID_HEADER) long ownerId,
+	public Mono<ResponseEntity<Object>> approveBooking(@RequestHeader(USER_ID_HEADER) long ownerId,
 												 @PathVariable("bookingId") Long bookingId,
 												 @RequestParam("approved") boolean approved) {
 		log.info("Approving booking {}, ownerId={}, approved={}", bookingId, ownerId, approved);
 		return bookingClient.approveBooking(ownerId, bookingId, approved);
 	}
 
+	@PatchMapping("/batch")
+	public Mono<ResponseEntity<Object>> approveBookings(@RequestHeader(USER_ID_HEADER) long ownerId,
+												  @RequestBody @Valid BookingBatchApprovalDto batchApprovalDto) {
+		log.info("Approving bookings {}, ownerId={}", batchApprovalDto, ownerId);
+		return bookingClient.approveBookings(ownerId, batchApprovalDto);
+	}
+
 	@GetMapping("/owner")
-	public ResponseEntity<Object> getOwnerBookings(@RequestHeader(USER_ID_HEADER) long ownerId,
+	public Mono<ResponseEntity<Object>> getOwnerBookings(@RequestHeader(USER_ID_HEADER) long ownerId,
 												   @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
 												   @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-												   @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+												   @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+												   @RequestParam(name = "cursor", required = false) String cursor) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+		if (cursor != null) {
+			log.info("Get owner booking page with state {}, ownerId={}, cursor={}, size={}", stateParam, ownerId, cursor, size);
+			return bookingClient.getOwnerBookingsPage(ownerId, state, cursor, size);
+		}
 		log.info("Get owner bookings with state {}, ownerId={}, from={}, size={}", stateParam, ownerId, from, size);
 		return bookingClient.getOwnerBookings(ownerId, state, from, size);
 	}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingBatchApprovalDto {
+	@NotEmpty(message = "Список бронирований не может быть пустым.")
+	@Size(max = 500, message = "За один раз можно обработать не более 500 бронирований.")
+	private List<@NotNull(message = "Идентификатор бронирования не может быть пустым.") Long> bookingIds;
+
+	@NotNull(message = "Решение по бронированиям не может быть пустым.")
+	private Boolean approved;
+}
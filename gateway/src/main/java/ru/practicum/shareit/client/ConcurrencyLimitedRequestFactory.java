@@ -0,0 +1,147 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ограничивает число одновременных запросов к серверу. HTTP-клиент JDK не ставит запрос в очередь, когда
+ * у соединения HTTP/2 кончились потоки, а сразу отказывает, поэтому очередь держит шлюз: запрос ждёт
+ * разрешения не дольше заданного времени, а разрешение возвращается при закрытии ответа.
+ * На виртуальных потоках очередь перед пулом Apache HttpClient нужна по другой причине: пул ждёт соединения
+ * в {@code Object.wait()} внутри {@code synchronized}, и ждущие запросы занимают все несущие потоки, так что
+ * запросам с соединением не на чем дочитать ответ. Семафор паркует виртуальный поток, не занимая несущий.
+ */
+class ConcurrencyLimitedRequestFactory implements ClientHttpRequestFactory {
+    private final ClientHttpRequestFactory delegate;
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+
+    ConcurrencyLimitedRequestFactory(ClientHttpRequestFactory delegate, int maxConcurrentRequests,
+                                     Duration acquireTimeout) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        return new LimitedRequest(delegate.createRequest(uri, httpMethod));
+    }
+
+    private void acquire() throws IOException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("Превышено время ожидания свободного соединения с сервером");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Ожидание свободного соединения с сервером прервано", e);
+        }
+    }
+
+    private class LimitedRequest implements ClientHttpRequest, StreamingHttpOutputMessage {
+        private final ClientHttpRequest request;
+
+        LimitedRequest(ClientHttpRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            acquire();
+            try {
+                return new LimitedResponse(request.execute());
+            } catch (IOException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public void setBody(Body body) {
+            if (request instanceof StreamingHttpOutputMessage streamingRequest) {
+                streamingRequest.setBody(body);
+            } else {
+                try {
+                    body.writeTo(request.getBody());
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return request.getBody();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return request.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+    }
+
+    private class LimitedResponse implements ClientHttpResponse {
+        private final ClientHttpResponse response;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        LimitedResponse(ClientHttpResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                try {
+                    response.close();
+                } finally {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Блокирующая отправка через {@link RestTemplate}: запрос выполняется в потоке, подписавшемся на результат,
+ * то есть в потоке Tomcat, обрабатывающем запрос к шлюзу.
+ */
+class RestTemplateTransport implements ServerTransport {
+    private final RestTemplate rest;
+    private final boolean passthrough;
+    private final ServerCodec codec;
+
+    RestTemplateTransport(RestTemplate rest, boolean passthrough, ServerCodec codec) {
+        this.rest = rest;
+        this.passthrough = passthrough;
+        this.codec = codec;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        return Mono.fromCallable(() -> send(method, path, userId, parameters, body));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> postStream(String path, long userId, MediaType contentType, InputStream body) {
+        return Mono.fromCallable(() -> {
+            try {
+                return rest.execute(path, HttpMethod.POST,
+                        request -> {
+                            request.getHeaders().putAll(codec.streamHeaders(userId, contentType));
+                            codec.writeStream(body, request.getBody());
+                        },
+                        response -> codec.toGatewayResponse(response.getStatusCode(), response.getHeaders(),
+                                response.getBody().readAllBytes()));
+            } catch (HttpStatusCodeException e) {
+                return errorResponse(e);
+            }
+        });
+    }
+
+    private ResponseEntity<Object> send(HttpMethod method, String path, @Nullable Long userId,
+                                        @Nullable Map<String, Object> parameters, @Nullable Object body)
+            throws IOException {
+        HttpHeaders headers = codec.requestHeaders(userId);
+        HttpEntity<Object> requestEntity = new HttpEntity<>(codec.encode(body, headers), headers);
+        Class<?> responseType = passthrough ? byte[].class : Object.class;
+
+        ResponseEntity<?> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, responseType, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, responseType);
+            }
+        } catch (HttpStatusCodeException e) {
+            return errorResponse(e);
+        }
+        if (passthrough) {
+            return codec.toGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                    (byte[]) shareitServerResponse.getBody());
+        }
+        return prepareGatewayResponse(shareitServerResponse);
+    }
+
+    private ResponseEntity<Object> errorResponse(HttpStatusCodeException e) throws IOException {
+        return codec.toGatewayResponse(e.getStatusCode(),
+                e.getResponseHeaders() != null ? e.getResponseHeaders() : HttpHeaders.EMPTY,
+                e.getResponseBodyAsByteArray());
+    }
+
+    private ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<?> response) {
+        if (response.getStatusCode().is2xxSuccessful()) {
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(codec.gatewayHeaders(response.getHeaders()))
+                    .body(response.getBody());
+        }
+
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+
+        if (response.hasBody()) {
+            return responseBuilder.body(response.getBody());
+        }
+
+        return responseBuilder.build();
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Настройки клиентов сервера ShareIt ({@code shareit-server.client.*}); пояснения к отдельным настройкам —
+ * в application.properties.
+ */
+@ConfigurationProperties("shareit-server.client")
+public record ServerClientProperties(@DefaultValue("BLOCKING") Mode mode,
+                                     @DefaultValue("HTTP_1_1") Protocol protocol,
+                                     @DefaultValue("true") boolean passthrough,
+                                     @DefaultValue("JSON") WireFormat wireFormat,
+                                     @DefaultValue("true") boolean compression,
+                                     @DefaultValue("2KB") DataSize compressionMinRequestSize,
+                                     @DefaultValue("500") int maxConnections,
+                                     @DefaultValue("1000") int pendingAcquireMaxCount,
+                                     @DefaultValue("5s") Duration pendingAcquireTimeout,
+                                     @DefaultValue("2s") Duration connectTimeout,
+                                     @DefaultValue("30s") Duration responseTimeout,
+                                     @DefaultValue("15s") Duration maxIdleTime,
+                                     @DefaultValue("2s") Duration validateAfterInactivity,
+                                     @DefaultValue("2000") int maxStreams) {
+
+    public enum Mode {
+        BLOCKING,
+        REACTIVE
+    }
+
+    public enum Protocol {
+        HTTP_1_1,
+        H2C
+    }
+
+    public enum WireFormat {
+        JSON,
+        SMILE
+    }
+}
@@ -0,0 +1,156 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Кодирование участка шлюз — сервер: формат и сжатие тел запросов и перевод ответов сервера в JSON.
+ */
+class ServerCodec {
+    static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+    private static final String ENCODING = "gzip";
+    private static final int BUFFER_SIZE = 8192;
+    // Заголовки отдельного соединения и длина тела, которую контейнер выставит сам.
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.TRANSFER_ENCODING, HttpHeaders.TE,
+            HttpHeaders.TRAILER, HttpHeaders.UPGRADE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.DATE);
+
+    private final ObjectMapper wireMapper;
+    private final JsonFactory jsonFactory;
+    private final MediaType contentType;
+    private final List<MediaType> accept;
+    private final boolean compression;
+    private final long compressionMinSize;
+
+    ServerCodec(ObjectMapper jsonMapper, ObjectMapper wireMapper, MediaType contentType, boolean compression,
+                long compressionMinSize) {
+        this.wireMapper = wireMapper;
+        this.jsonFactory = jsonMapper.getFactory();
+        this.contentType = contentType;
+        // JSON остаётся запасным вариантом для ответов, которые сервер не умеет отдать в Smile.
+        this.accept = SMILE.equals(contentType)
+                ? List.of(SMILE, MediaType.valueOf("application/json;q=0.9"))
+                : List.of(MediaType.APPLICATION_JSON);
+        this.compression = compression;
+        this.compressionMinSize = compressionMinSize;
+    }
+
+    HttpHeaders requestHeaders(@Nullable Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        headers.setAccept(accept);
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        return headers;
+    }
+
+    /**
+     * Заголовки запроса с потоковым телом; при сжатии в них уже выставлен {@code Content-Encoding}.
+     */
+    HttpHeaders streamHeaders(long userId, MediaType bodyType) {
+        HttpHeaders headers = requestHeaders(userId);
+        headers.setContentType(bodyType);
+        if (compression) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, ENCODING);
+        }
+        return headers;
+    }
+
+    /**
+     * Тело запроса в виде для отправки; для сжатого тела в заголовки добавляется {@code Content-Encoding}.
+     * Тело в JSON без сжатия сериализует конвертер HTTP-клиента, а тела меньше порога не сжимаются:
+     * сжатие их лишь удлиняет.
+     */
+    @Nullable
+    Object encode(@Nullable Object body, HttpHeaders headers) throws IOException {
+        if (body == null || !compression && MediaType.APPLICATION_JSON.equals(contentType)) {
+            return body;
+        }
+        byte[] encoded = wireMapper.writeValueAsBytes(body);
+        if (!compression || encoded.length < compressionMinSize) {
+            return encoded;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(encoded.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed, BUFFER_SIZE)) {
+            gzip.write(encoded);
+        }
+        headers.set(HttpHeaders.CONTENT_ENCODING, ENCODING);
+        return compressed.toByteArray();
+    }
+
+    boolean compressesStreams() {
+        return compression;
+    }
+
+    /**
+     * Пишет поток в {@code target}, не закрывая его; заголовки берутся из {@link #streamHeaders}.
+     */
+    void writeStream(InputStream body, OutputStream target) throws IOException {
+        if (!compression) {
+            body.transferTo(target);
+            return;
+        }
+        GZIPOutputStream gzip = new GZIPOutputStream(target, BUFFER_SIZE);
+        body.transferTo(gzip);
+        gzip.finish();
+    }
+
+    /**
+     * Ответ шлюза из ответа сервера, переданного байтами: заголовки копируются, Smile перекодируется в JSON.
+     */
+    ResponseEntity<Object> toGatewayResponse(HttpStatusCode status, HttpHeaders serverHeaders,
+                                             @Nullable byte[] body) throws IOException {
+        HttpHeaders headers = gatewayHeaders(serverHeaders);
+        if (body == null || body.length == 0) {
+            return ResponseEntity.status(status).headers(headers).build();
+        }
+        if (SMILE.isCompatibleWith(serverHeaders.getContentType())) {
+            body = toJson(body);
+        }
+        return ResponseEntity.status(status).headers(headers).body(body);
+    }
+
+    /**
+     * Заголовки ответа сервера, которые шлюз передаёт клиенту вместе с телом; тип Smile заменяется на JSON.
+     */
+    HttpHeaders gatewayHeaders(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        serverHeaders.forEach((name, values) -> {
+            if (SKIPPED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                headers.addAll(name, values);
+            }
+        });
+        if (SMILE.isCompatibleWith(headers.getContentType())) {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+        }
+        return headers;
+    }
+
+    // Перекодирует потоком токенов, без построения дерева объектов.
+    private byte[] toJson(byte[] smile) throws IOException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(smile.length * 2);
+        try (JsonParser parser = wireMapper.getFactory().createParser(smile);
+             JsonGenerator generator = jsonFactory.createGenerator(json)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        }
+        return json.toByteArray();
+    }
+}
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import ru.practicum.shareit.util.exception.ServiceUnavailableException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Долгие потоковые ответы сервера — события и выгрузки NDJSON — через WebClient в любом режиме клиентов,
+ * чтобы не держать на них поток Tomcat.
+ */
+public class ServerStream {
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> EVENT_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+    // Выгрузка длится сколько нужно: общий spring.mvc.async.request-timeout к ней не применяется.
+    private static final long NO_TIMEOUT = -1L;
+
+    private final WebClient webClient;
+    private final int maxStreams;
+    private final AtomicInteger streams;
+
+    ServerStream(WebClient webClient, int maxStreams, AtomicInteger streams) {
+        this.webClient = webClient;
+        this.maxStreams = maxStreams;
+        this.streams = streams;
+    }
+
+    public Mono<ResponseEntity<Flux<ServerSentEvent<String>>>> events(String path, long userId) {
+        return open(path, userId, MediaType.TEXT_EVENT_STREAM, spec -> spec.toEntityFlux(EVENT_TYPE));
+    }
+
+    /**
+     * Ответ сервера в NDJSON: байты тела передаются клиенту как есть, без разбора на строки.
+     */
+    public Mono<ResponseEntity<ResponseBodyEmitter>> ndjson(String path, long userId) {
+        return open(path, userId, MediaType.APPLICATION_NDJSON, spec -> spec.toEntityFlux(DataBuffer.class))
+                .map(response -> ResponseEntity.status(response.getStatusCode())
+                        .headers(response.getHeaders())
+                        .body(forward(response.getBody())));
+    }
+
+    /**
+     * Потоки сверх лимита шлюза сразу отклоняются; ответ сервера с ошибкой приходит как
+     * {@link WebClientResponseException}.
+     */
+    private <T> Mono<ResponseEntity<Flux<T>>> open(String path, long userId, MediaType contentType,
+                                                   Function<WebClient.ResponseSpec,
+                                                           Mono<ResponseEntity<Flux<T>>>> body) {
+        return Mono.defer(() -> {
+            if (streams.incrementAndGet() > maxStreams) {
+                streams.decrementAndGet();
+                return Mono.error(new ServiceUnavailableException("Превышено число потоков к серверу"));
+            }
+            AtomicBoolean released = new AtomicBoolean();
+            Runnable release = () -> {
+                if (released.compareAndSet(false, true)) {
+                    streams.decrementAndGet();
+                }
+            };
+            return body.apply(webClient.get()
+                            .uri(path)
+                            .header("X-Sharer-User-Id", String.valueOf(userId))
+                            // Ошибки сервер отдаёт в JSON.
+                            .accept(contentType, MediaType.APPLICATION_JSON)
+                            .retrieve())
+                    .map(response -> {
+                        Flux<T> items = response.getBody() != null ? response.getBody() : Flux.empty();
+                        return ResponseEntity.status(response.getStatusCode())
+                                .contentType(contentType)
+                                .body(items.doFinally(signal -> release.run()));
+                    })
+                    .doOnError(e -> release.run())
+                    .doOnCancel(release);
+        });
+    }
+
+    /**
+     * Эмиттер Spring MVC для потоков NDJSON дописывает перевод строки после каждого элемента, поэтому
+     * байты пишутся в собственный эмиттер. Запись блокирующая и идёт не в потоке соединения с сервером;
+     * следующий буфер запрашивается после записи предыдущего.
+     */
+    private static ResponseBodyEmitter forward(Flux<DataBuffer> body) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(NO_TIMEOUT);
+        Disposable subscription = body
+                .map(ServerStream::toBytes)
+                .publishOn(Schedulers.boundedElastic(), 1)
+                .subscribe(bytes -> send(emitter, bytes), emitter::completeWithError, emitter::complete);
+        emitter.onCompletion(subscription::dispose);
+        emitter.onError(e -> subscription.dispose());
+        return emitter;
+    }
+
+    private static byte[] toBytes(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private static void send(ResponseBodyEmitter emitter, byte[] bytes) {
+        try {
+            emitter.send(bytes, MediaType.APPLICATION_OCTET_STREAM);
+        } catch (IOException e) {
+            // Клиент отключился: ошибка отменяет подписку и закрывает соединение с сервером.
+            throw new UncheckedIOException(e);
+        }
+    }
+}
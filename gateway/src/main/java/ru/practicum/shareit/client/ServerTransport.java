@@ -0,0 +1,27 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Способ отправки запросов на сервер ShareIt. Реализация выбирается свойством {@code shareit-server.client.mode}.
+ * Ответ сервера с ошибкой возвращается как есть, с телом в байтах. При {@code shareit-server.client.passthrough}
+ * так же, байтами с заголовками сервера, возвращается и успешный ответ: шлюз не разбирает JSON и не собирает
+ * его заново.
+ */
+public interface ServerTransport {
+
+    Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                          @Nullable Map<String, Object> parameters, @Nullable Object body);
+
+    /**
+     * Передаёт тело запроса на сервер потоком, не читая его в память целиком.
+     */
+    Mono<ResponseEntity<Object>> postStream(String path, long userId, MediaType contentType, InputStream body);
+}
@@ -0,0 +1,245 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Создаёт транспорт к серверу для клиента с заданным префиксом API. Все клиенты делят один пул постоянных
+ * соединений: Apache HttpClient в режиме {@code BLOCKING} и Reactor Netty в режиме {@code REACTIVE}.
+ * Метрики пула публикуются через actuator.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ServerClientProperties.class)
+public class ServerTransportFactory implements DisposableBean {
+    private final String serverUrl;
+    private final ServerClientProperties properties;
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final WebClient.Builder webClientBuilder;
+    private final MeterRegistry meterRegistry;
+    private final ServerCodec codec;
+    private final boolean virtualThreads;
+    private final AtomicInteger streams = new AtomicInteger();
+    private ConnectionProvider connectionProvider;
+    private ConnectionProvider streamConnectionProvider;
+    private CloseableHttpClient blockingHttpClient;
+    private java.net.http.HttpClient jdkHttpClient;
+    private ExecutorService jdkHttpClientExecutor;
+    private ClientHttpRequestFactory h2cRequestFactory;
+    private ClientHttpRequestFactory virtualThreadRequestFactory;
+
+    public ServerTransportFactory(@Value("${shareit-server.url}") String serverUrl,
+                                  ServerClientProperties properties,
+                                  RestTemplateBuilder restTemplateBuilder,
+                                  WebClient.Builder webClientBuilder,
+                                  MeterRegistry meterRegistry,
+                                  ObjectMapper objectMapper,
+                                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.serverUrl = serverUrl;
+        this.virtualThreads = virtualThreads;
+        this.properties = properties;
+        this.restTemplateBuilder = restTemplateBuilder;
+        this.webClientBuilder = webClientBuilder;
+        this.meterRegistry = meterRegistry;
+        this.codec = properties.wireFormat() == ServerClientProperties.WireFormat.SMILE
+                ? new ServerCodec(objectMapper, objectMapper.copyWith(new SmileFactory()), ServerCodec.SMILE,
+                        properties.compression(), properties.compressionMinRequestSize().toBytes())
+                : new ServerCodec(objectMapper, objectMapper, MediaType.APPLICATION_JSON,
+                        properties.compression(), properties.compressionMinRequestSize().toBytes());
+        log.info("Режим клиентов сервера: {}, протокол: {}, формат: {}, передача ответов без разбора: {}",
+                properties.mode(), properties.protocol(), properties.wireFormat(), properties.passthrough());
+    }
+
+    public ServerTransport create(String apiPrefix) {
+        String baseUrl = serverUrl + apiPrefix;
+        if (properties.mode() == ServerClientProperties.Mode.REACTIVE) {
+            return new WebClientTransport(webClientBuilder.clone()
+                    .baseUrl(baseUrl)
+                    .clientConnector(new ReactorClientHttpConnector(httpClient()))
+                    .build(), properties.passthrough(), codec);
+        }
+        return new RestTemplateTransport(restTemplateBuilder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(baseUrl))
+                .requestFactory(this::requestFactory)
+                .build(), properties.passthrough(), codec);
+    }
+
+    /**
+     * Потоковые ответы сервера для клиента с заданным префиксом API; лимит потоков общий для всех клиентов.
+     */
+    public ServerStream createStream(String apiPrefix) {
+        return new ServerStream(webClientBuilder.clone()
+                .baseUrl(serverUrl + apiPrefix)
+                .clientConnector(new ReactorClientHttpConnector(streamHttpClient()))
+                .build(), properties.maxStreams(), streams);
+    }
+
+    private ClientHttpRequestFactory requestFactory() {
+        if (properties.protocol() == ServerClientProperties.Protocol.H2C) {
+            return h2cRequestFactory();
+        }
+        if (virtualThreads) {
+            return virtualThreadRequestFactory();
+        }
+        return new HttpComponentsClientHttpRequestFactory(blockingHttpClient());
+    }
+
+    /**
+     * На виртуальных потоках запросы ждут соединения Apache HttpClient в общей для всех клиентов очереди шлюза,
+     * а не в пуле: ожидание в пуле закрепляет виртуальный поток за несущим
+     * (см. {@link ConcurrencyLimitedRequestFactory}).
+     */
+    private synchronized ClientHttpRequestFactory virtualThreadRequestFactory() {
+        if (virtualThreadRequestFactory == null) {
+            virtualThreadRequestFactory = new ConcurrencyLimitedRequestFactory(
+                    new HttpComponentsClientHttpRequestFactory(blockingHttpClient()), properties.maxConnections(),
+                    properties.pendingAcquireTimeout());
+        }
+        return virtualThreadRequestFactory;
+    }
+
+    /**
+     * HTTP-клиент JDK переходит на HTTP/2 через Upgrade в первом запросе соединения и дальше
+     * мультиплексирует в нём запросы всех клиентов шлюза. Одновременных запросов не больше
+     * {@code max-connections}: ограничение общее для всех клиентов.
+     */
+    private synchronized ClientHttpRequestFactory h2cRequestFactory() {
+        if (h2cRequestFactory == null) {
+            jdkHttpClientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+            jdkHttpClient = java.net.http.HttpClient.newBuilder()
+                    .version(java.net.http.HttpClient.Version.HTTP_2)
+                    .connectTimeout(properties.connectTimeout())
+                    .executor(jdkHttpClientExecutor)
+                    .build();
+            JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(jdkHttpClient);
+            requestFactory.setReadTimeout(properties.responseTimeout());
+            h2cRequestFactory = new ConcurrencyLimitedRequestFactory(requestFactory, properties.maxConnections(),
+                    properties.pendingAcquireTimeout());
+        }
+        return h2cRequestFactory;
+    }
+
+    private synchronized CloseableHttpClient blockingHttpClient() {
+        if (blockingHttpClient == null) {
+            // Все запросы идут на один адрес, поэтому лимит на маршрут равен общему лимиту пула.
+            PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                    .setMaxConnTotal(properties.maxConnections())
+                    .setMaxConnPerRoute(properties.maxConnections())
+                    .setDefaultConnectionConfig(ConnectionConfig.custom()
+                            .setConnectTimeout(Timeout.of(properties.connectTimeout()))
+                            .setSocketTimeout(Timeout.of(properties.responseTimeout()))
+                            .setValidateAfterInactivity(TimeValue.of(properties.validateAfterInactivity()))
+                            .build())
+                    .build();
+            new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server")
+                    .bindTo(meterRegistry);
+            HttpClientBuilder httpClientBuilder = HttpClients.custom();
+            if (!properties.compression()) {
+                httpClientBuilder.disableContentCompression();
+            }
+            blockingHttpClient = httpClientBuilder
+                    .setConnectionManager(connectionManager)
+                    .setDefaultRequestConfig(RequestConfig.custom()
+                            .setConnectionRequestTimeout(Timeout.of(properties.pendingAcquireTimeout()))
+                            .setResponseTimeout(Timeout.of(properties.responseTimeout()))
+                            .build())
+                    .evictIdleConnections(TimeValue.of(properties.maxIdleTime()))
+                    .evictExpiredConnections()
+                    .build();
+        }
+        return blockingHttpClient;
+    }
+
+    private synchronized HttpClient httpClient() {
+        if (connectionProvider == null) {
+            connectionProvider = ConnectionProvider.builder("shareit-server")
+                    .maxConnections(properties.maxConnections())
+                    .pendingAcquireMaxCount(properties.pendingAcquireMaxCount())
+                    .pendingAcquireTimeout(properties.pendingAcquireTimeout())
+                    .maxIdleTime(properties.maxIdleTime())
+                    .metrics(true)
+                    .build();
+        }
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.connectTimeout().toMillis())
+                .responseTimeout(properties.responseTimeout())
+                .compress(properties.compression());
+        // Для H2C Reactor Netty сразу говорит HTTP/2 (prior knowledge), без Upgrade.
+        return properties.protocol() == ServerClientProperties.Protocol.H2C
+                ? httpClient.protocol(HttpProtocol.H2C)
+                : httpClient;
+    }
+
+    /**
+     * Потоковый ответ занимает соединение HTTP/1.1 целиком, поэтому у потоков свой пул и обычным запросам
+     * в режиме {@code REACTIVE} соединений хватает. Сжатие как у обычных запросов: события сервер не сжимает,
+     * а выгрузки NDJSON сжимает.
+     */
+    private synchronized HttpClient streamHttpClient() {
+        if (streamConnectionProvider == null) {
+            streamConnectionProvider = ConnectionProvider.builder("shareit-server-streams")
+                    .maxConnections(properties.maxStreams())
+                    .pendingAcquireTimeout(properties.pendingAcquireTimeout())
+                    .maxIdleTime(properties.maxIdleTime())
+                    .metrics(true)
+                    .build();
+        }
+        HttpClient httpClient = HttpClient.create(streamConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.connectTimeout().toMillis())
+                .responseTimeout(properties.responseTimeout())
+                .compress(properties.compression());
+        return properties.protocol() == ServerClientProperties.Protocol.H2C
+                ? httpClient.protocol(HttpProtocol.H2C)
+                : httpClient;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+        }
+        if (streamConnectionProvider != null) {
+            streamConnectionProvider.dispose();
+        }
+        if (blockingHttpClient != null) {
+            blockingHttpClient.close(CloseMode.GRACEFUL);
+        }
+        if (jdkHttpClient != null) {
+            jdkHttpClient.close();
+            jdkHttpClientExecutor.close();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.client;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * Неблокирующая отправка через {@link WebClient}: поток Tomcat освобождается сразу, а ответ шлюза
+ * дописывается асинхронно, когда сервер ответит.
+ */
+class WebClientTransport implements ServerTransport {
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
+    private final WebClient webClient;
+    private final boolean passthrough;
+    private final ServerCodec codec;
+
+    WebClientTransport(WebClient webClient, boolean passthrough, ServerCodec codec) {
+        this.webClient = webClient;
+        this.passthrough = passthrough;
+        this.codec = codec;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        return Mono.defer(() -> {
+            HttpHeaders requestHeaders = codec.requestHeaders(userId);
+            Object requestBody;
+            try {
+                requestBody = codec.encode(body, requestHeaders);
+            } catch (IOException e) {
+                return Mono.error(e);
+            }
+            WebClient.RequestBodySpec request = webClient.method(method)
+                    .uri(path, parameters != null ? parameters : Map.of())
+                    .headers(headers -> headers.addAll(requestHeaders));
+            if (requestBody != null) {
+                request.bodyValue(requestBody);
+            }
+            return request.exchangeToMono(this::toGatewayResponse);
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> postStream(String path, long userId, MediaType contentType, InputStream body) {
+        HttpHeaders requestHeaders = codec.streamHeaders(userId, contentType);
+        Publisher<DataBuffer> requestBody;
+        if (codec.compressesStreams()) {
+            requestBody = DataBufferUtils.outputStreamPublisher(output -> {
+                try {
+                    codec.writeStream(body, output);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, DefaultDataBufferFactory.sharedInstance, task -> Schedulers.boundedElastic().schedule(task),
+                    STREAM_BUFFER_SIZE);
+        } else {
+            requestBody = DataBufferUtils
+                    .readInputStream(() -> body, DefaultDataBufferFactory.sharedInstance, STREAM_BUFFER_SIZE)
+                    .subscribeOn(Schedulers.boundedElastic());
+        }
+        return webClient.post()
+                .uri(path)
+                .headers(headers -> headers.addAll(requestHeaders))
+                .body(BodyInserters.fromDataBuffers(requestBody))
+                .exchangeToMono(this::toGatewayResponse);
+    }
+
+    private Mono<ResponseEntity<Object>> toGatewayResponse(ClientResponse response) {
+        if (response.statusCode().is2xxSuccessful() && !passthrough) {
+            return response.toEntity(Object.class)
+                    .map(entity -> ResponseEntity.status(entity.getStatusCode())
+                            .headers(codec.gatewayHeaders(entity.getHeaders()))
+                            .body(entity.getBody()));
+        }
+        return response.bodyToMono(byte[].class)
+                .defaultIfEmpty(new byte[0])
+                .flatMap(body -> Mono.fromCallable(() -> codec.toGatewayResponse(response.statusCode(),
+                        response.headers().asHttpHeaders(), body)));
+    }
+}
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,9 +17,13 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.comment.CommentDto;
 import ru.practicum.shareit.util.validation.groups.Create;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
@@ -27,14 +34,26 @@ public class ItemController {
     private static final String HEADER_USER_ID = "X-Sharer-User-Id";
 
     @PostMapping
-    public ResponseEntity<Object> addItem(@RequestHeader(HEADER_USER_ID) Long userId,
+    public Mono<ResponseEntity<Object>> addItem(@RequestHeader(HEADER_USER_ID) Long userId,
                                           @Validated(Create.class) @RequestBody ItemDto itemDto) {
         log.info("Adding item: {}, userId={}", itemDto, userId);
         return itemClient.addItem(userId, itemDto);
     }
 
+    /**
+     * Массовая загрузка вещей в NDJSON или массивом JSON. Тело передаётся на сервер потоком,
+     * строки проверяет сервер и возвращает ошибки по каждой строке.
+     */
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Mono<ResponseEntity<Object>> importItems(@RequestHeader(HEADER_USER_ID) Long userId,
+                                              HttpServletRequest request) throws IOException {
+        log.info("Importing items for userId={}, contentType={}", userId, request.getContentType());
+        return itemClient.importItems(userId, MediaType.parseMediaType(request.getContentType()),
+                request.getInputStream());
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@PathVariable Long itemId,
+    public Mono<ResponseEntity<Object>> updateItem(@PathVariable Long itemId,
                                              @RequestHeader(HEADER_USER_ID) Long userId,
                                              @RequestBody ItemDto itemDto) {
         log.info("Updating item with id={}, userId={}, itemDto={}", itemId, userId, itemDto);
@@ -42,14 +61,14 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(@PathVariable Long itemId,
+    public Mono<ResponseEntity<Object>> getItemById(@PathVariable Long itemId,
                                               @RequestHeader(HEADER_USER_ID) Long userId) {
         log.info("Fetching item with id={}, userId={}", itemId, userId);
         return itemClient.getItemById(itemId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserItems(@RequestHeader(HEADER_USER_ID) Long userId,
+    public Mono<ResponseEntity<Object>> getUserItems(@RequestHeader(HEADER_USER_ID) Long userId,
                                                @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
                                                @PositiveOrZero @RequestParam(name = "size", defaultValue = "10") Integer size) {
         log.info("Fetching items for userId={}, from={}, size={}", userId, from, size);
@@ -57,15 +76,25 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam String text,
+    public Mono<ResponseEntity<Object>> searchItems(@RequestParam String text,
                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
                                               @PositiveOrZero @RequestParam(name = "size", defaultValue = "10") Integer size) {
         log.info("Searching items with text='{}', from={}, size={}", text, from, size);
         return itemClient.searchItems(text, from, size);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@PathVariable Long itemId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime to) {
+        log.info("Fetching availability of itemId={}, from={}, to={}", itemId, from, to);
+        return itemClient.getAvailability(itemId, from, to);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@PathVariable Long itemId,
+    public Mono<ResponseEntity<Object>> addComment(@PathVariable Long itemId,
                                              @RequestHeader(HEADER_USER_ID) Long userId,
                                              @RequestBody CommentDto commentDto) {
         log.info("Adding comment to itemId={}, userId={}, comment={}", itemId, userId, commentDto);
@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/requests")
@@ -20,23 +21,23 @@ public class ItemRequestController {
     private static final String HEADER_USER_ID = "X-Sharer-User-Id";
 
     @PostMapping
-    public ResponseEntity<Object> addRequest(@RequestHeader(HEADER_USER_ID) Long userId,
+    public Mono<ResponseEntity<Object>> addRequest(@RequestHeader(HEADER_USER_ID) Long userId,
                                              @Validated @RequestBody ItemRequestDto requestDto) {
         return requestClient.addRequest(userId, requestDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserRequests(@RequestHeader(HEADER_USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> getUserRequests(@RequestHeader(HEADER_USER_ID) Long userId) {
         return requestClient.getUserRequests(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequests(@RequestHeader(HEADER_USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> getAllRequests(@RequestHeader(HEADER_USER_ID) Long userId) {
         return requestClient.getAllRequests(userId);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequestById(@RequestHeader(HEADER_USER_ID) Long userId,
+    public Mono<ResponseEntity<Object>> getRequestById(@RequestHeader(HEADER_USER_ID) Long userId,
                                                  @PathVariable("requestId") Long requestId) {
         return requestClient.getRequestById(userId, requestId);
     }
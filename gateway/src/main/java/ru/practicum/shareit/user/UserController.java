@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.util.validation.groups.Create;
 import ru.practicum.shareit.util.validation.groups.Update;
 
@@ -21,27 +22,27 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> getUsers() {
+    public Mono<ResponseEntity<Object>> getUsers() {
         return userClient.getUsers();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getUserById(@PathVariable("id") long id) {
+    public Mono<ResponseEntity<Object>> getUserById(@PathVariable("id") long id) {
         return userClient.getUserById(id);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@Validated(Create.class) @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> createUser(@Validated(Create.class) @RequestBody UserDto userDto) {
         return userClient.createUser(userDto);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> updateUser(@PathVariable("id") long id, @Validated(Update.class) @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> updateUser(@PathVariable("id") long id, @Validated(Update.class) @RequestBody UserDto userDto) {
         return userClient.updateUser(id, userDto);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> deleteUser(@PathVariable("id") long id) {
+    public Mono<ResponseEntity<Object>> deleteUser(@PathVariable("id") long id) {
         return userClient.deleteUser(id);
     }
 }
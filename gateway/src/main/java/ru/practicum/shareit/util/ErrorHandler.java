@@ -1,14 +1,22 @@
 package ru.practicum.shareit.util;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.catalina.connector.ClientAbortException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import ru.practicum.shareit.util.exception.ConditionsNotMetException;
 import ru.practicum.shareit.util.exception.DataConflictException;
 import ru.practicum.shareit.util.exception.NotFoundException;
+import ru.practicum.shareit.util.exception.ServiceUnavailableException;
 import ru.practicum.shareit.util.exception.UnauthorizedException;
 
 import java.util.HashMap;
@@ -59,13 +67,57 @@ public class ErrorHandler {
         return Map.of("error", ex.getMessage());
     }
 
+    @ExceptionHandler({ResourceAccessException.class, WebClientRequestException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map<String, String> handleServerUnavailableException(RuntimeException ex) {
+        log.warn("Сервер недоступен: {}", ex.getMessage());
+        return Map.of("error", "Сервер временно недоступен, повторите запрос позже.");
+    }
+
+    /**
+     * Шлюз достиг лимита потоков событий к серверу. Ответ отдаётся в JSON независимо от заголовка
+     * {@code Accept} подписчика.
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        log.warn("Шлюз перегружен: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    /**
+     * Ошибка сервера на потоковый запрос: клиенту отдаются статус и тело ответа сервера.
+     */
+    @ExceptionHandler(WebClientResponseException.class)
+    public ResponseEntity<byte[]> handleServerErrorResponse(WebClientResponseException ex) {
+        log.warn("Сервер отклонил запрос: {} {}", ex.getStatusCode().value(), ex.getResponseBodyAsString());
+        MediaType contentType = ex.getHeaders().getContentType();
+        return ResponseEntity.status(ex.getStatusCode())
+                .contentType(contentType != null ? contentType : MediaType.APPLICATION_JSON)
+                .body(ex.getResponseBodyAsByteArray());
+    }
+
+    /**
+     * Подписчик отключился от проксируемого потока событий. Ошибки ввода-вывода при обмене с сервером
+     * (кодирование тела, перекодирование Smile в JSON) сюда не попадают и отвечают 500.
+     */
+    @ExceptionHandler({AsyncRequestNotUsableException.class, ClientAbortException.class})
+    public void handleClientDisconnect(Exception ex) {
+        log.debug("Клиент отключился: {}", ex.getMessage());
+    }
+
+    /**
+     * JSON указан явно: ошибка может возникнуть и в потоковом ответе, где тип ответа уже выбран.
+     */
     @ExceptionHandler(Exception.class)
-    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-    public Map<String, String> handleOtherExceptions(Exception ex) {
+    public ResponseEntity<Map<String, String>> handleOtherExceptions(Exception ex) {
         log.error("Неожиданная ошибка", ex);
-        return Map.of(
-                "error", "Произошла непредвиденная ошибка.",
-                "details", ex.getMessage()
-        );
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of(
+                        "error", "Произошла непредвиденная ошибка.",
+                        "details", ex.getMessage()
+                ));
     }
 }
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.util.web;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Smile нужен шлюзу только на участке до сервера, поэтому из конвертеров контроллеров шлюза он убран:
+ * клиенты получают JSON, даже если просят Smile в {@code Accept}.
+ */
+@Configuration
+public class PublicMessageConverterConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter);
+    }
+}
@@ -0,0 +1,166 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Нагрузочное сравнение шлюза на потоках платформы (пул Tomcat) и на виртуальных потоках при 1 000 и 10 000
+ * одновременных клиентов. Клиенты в замкнутом цикле запрашивают бронирования владельца; шлюз в режиме
+ * {@code BLOCKING} ходит за ними через {@code RestTemplate} в заглушку сервера, которая отвечает с задержкой
+ * {@link #SERVER_LATENCY}. Так шлюз почти всё время ждёт сервер, как в работе, и пропускная способность
+ * на потоках платформы упирается в размер пула Tomcat, а на виртуальных — в пул соединений к серверу.
+ * Запуск: {@code mvn test -pl gateway -Dtest=VirtualThreadsBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VirtualThreadsBenchmarkTest {
+    private static final int[] CLIENTS = {1_000, 10_000};
+    private static final int REQUESTS = 20_000;
+    private static final Duration SERVER_LATENCY = Duration.ofMillis(50);
+    private static final byte[] SERVER_RESPONSE = "[]".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void compareThroughput() throws Exception {
+        HttpServer server = startServer();
+        try {
+            for (boolean virtual : new boolean[]{false, true}) {
+                try (ServletWebServerApplicationContext context = start(virtual, server.getAddress().getPort())) {
+                    String url = "http://localhost:" + context.getWebServer().getPort() + "/bookings/owner?state=ALL";
+                    run(url, 100, 2_000);
+                    for (int clients : CLIENTS) {
+                        Result result = run(url, clients, REQUESTS);
+                        log.info("{} потоки, {} клиентов: {} запросов/с, p50 {} мс, p99 {} мс, ошибок {}",
+                                virtual ? "виртуальные" : "платформенные", clients, result.throughput(),
+                                result.percentile(50), result.percentile(99), result.errors());
+                        assertThat(result.errors()).isLessThan(REQUESTS / 10);
+                    }
+                }
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    /**
+     * Заглушка сервера ShareIt на виртуальных потоках: на любой запрос отвечает пустым списком после задержки.
+     */
+    private static HttpServer startServer() throws Exception {
+        // По умолчанию встроенный сервер JDK держит не больше 200 простаивающих соединений, а остальные
+        // закрывает после ответа; пул шлюза узнаёт об этом только на следующем запросе («failed to respond»).
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "10000");
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 10_000);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(SERVER_LATENCY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, SERVER_RESPONSE.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(SERVER_RESPONSE);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static ServletWebServerApplicationContext start(boolean virtual, int serverPort) {
+        // Аргументы командной строки, а не свойства по умолчанию: иначе их перекрыли бы настройки приложения,
+        // в том числе уровни TRACE для HTTP-клиента.
+        return (ServletWebServerApplicationContext) new SpringApplicationBuilder(ShareItGateway.class).run(
+                "--server.port=0",
+                "--server.tomcat.max-connections=4000",
+                "--server.tomcat.accept-count=8000",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--shareit-server.url=http://localhost:" + serverPort,
+                "--shareit-server.client.mode=BLOCKING",
+                "--shareit-server.client.pending-acquire-timeout=60s",
+                "--logging.level.root=WARN",
+                "--logging.level.org.apache.http=WARN",
+                "--logging.level.httpclient.wire=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN",
+                "--logging.level.org.springframework.web.filter.CommonsRequestLoggingFilter=WARN",
+                "--logging.level.ru.practicum.shareit.VirtualThreadsBenchmarkTest=INFO");
+    }
+
+    private static Result run(String url, int clients, int requests) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("X-Sharer-User-Id", "1")
+                .timeout(Duration.ofMinutes(2))
+                .build();
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        AtomicReference<String> firstError = new AtomicReference<>();
+        CountDownLatch ready = new CountDownLatch(1);
+        long startedAt;
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    ready.await();
+                    for (int n = next.getAndIncrement(); n < requests; n = next.getAndIncrement()) {
+                        long sentAt = System.nanoTime();
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status != 200) {
+                                errors.incrementAndGet();
+                                firstError.compareAndSet(null, "HTTP " + status);
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            firstError.compareAndSet(null, e.toString());
+                        }
+                        latencies[n] = System.nanoTime() - sentAt;
+                    }
+                    return null;
+                });
+            }
+            startedAt = System.nanoTime();
+            ready.countDown();
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.MINUTES);
+        }
+        if (firstError.get() != null) {
+            log.warn("Первая ошибка при {} клиентах: {}", clients, firstError.get());
+        }
+        return new Result(latencies, System.nanoTime() - startedAt, errors.get());
+    }
+
+    private record Result(long[] latencies, long elapsedNanos, int errors) {
+        long throughput() {
+            return Math.round(latencies.length / (elapsedNanos / 1e9));
+        }
+
+        long percentile(int percent) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return Math.round(sorted[(int) Math.ceil(sorted.length * percent / 100.0) - 1] / 1e6);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimitedRequestFactoryTest {
+    private static final URI SERVER_URI = URI.create("http://localhost:9090/items");
+
+    private final AtomicBoolean failing = new AtomicBoolean();
+    private final ClientHttpRequestFactory delegate = (uri, method) -> new MockClientHttpRequest(method, uri) {
+        @Override
+        protected ClientHttpResponse executeInternal() throws IOException {
+            if (failing.get()) {
+                throw new IOException("Сервер недоступен");
+            }
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+        }
+    };
+    private final ConcurrencyLimitedRequestFactory factory =
+            new ConcurrencyLimitedRequestFactory(delegate, 1, Duration.ofMillis(50));
+
+    @Test
+    void execute_shouldReleasePermitOnResponseClose() throws IOException {
+        ClientHttpResponse response = execute();
+        response.close();
+
+        try (ClientHttpResponse next = execute()) {
+            assertThat(next.getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+    }
+
+    @Test
+    void execute_shouldReleasePermitOnlyOnceOnRepeatedClose() throws IOException {
+        ClientHttpResponse response = execute();
+        response.close();
+        response.close();
+
+        try (ClientHttpResponse ignored = execute()) {
+            assertThatThrownBy(this::execute).isInstanceOf(IOException.class);
+        }
+    }
+
+    @Test
+    void execute_shouldReleasePermitOnFailure() throws IOException {
+        failing.set(true);
+        assertThatThrownBy(this::execute).hasMessage("Сервер недоступен");
+
+        failing.set(false);
+        try (ClientHttpResponse response = execute()) {
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+    }
+
+    @Test
+    void execute_shouldFailOnAcquireTimeoutWithoutTakingPermit() throws IOException {
+        ClientHttpResponse response = execute();
+
+        assertThatThrownBy(this::execute)
+                .isInstanceOf(IOException.class)
+                .hasMessage("Превышено время ожидания свободного соединения с сервером");
+
+        response.close();
+        try (ClientHttpResponse ignored = execute()) {
+            // После таймаута лишнее разрешение не вернулось: второй запрос снова ждёт.
+            assertThatThrownBy(this::execute).isInstanceOf(IOException.class);
+        }
+    }
+
+    @Test
+    void execute_shouldFailWhenWaitIsInterrupted() throws IOException {
+        try (ClientHttpResponse ignored = execute()) {
+            Thread.currentThread().interrupt();
+
+            assertThatThrownBy(this::execute)
+                    .isInstanceOf(IOException.class)
+                    .hasMessage("Ожидание свободного соединения с сервером прервано");
+            assertThat(Thread.interrupted()).isTrue();
+        }
+    }
+
+    private ClientHttpResponse execute() throws IOException {
+        ClientHttpRequest request = factory.createRequest(SERVER_URI, HttpMethod.GET);
+        return request.execute();
+    }
+}
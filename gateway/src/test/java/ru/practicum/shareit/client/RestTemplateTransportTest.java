@@ -0,0 +1,87 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+
+class RestTemplateTransportTest {
+    private static final String ERROR = "{\"error\":\"Вещь с id = 1 не найдена\"}";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final RestTemplate rest = new RestTemplate();
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090/items"));
+        server = MockRestServiceServer.bindTo(rest).build();
+    }
+
+    @ParameterizedTest
+    @CsvSource({"404, true", "404, false", "409, false", "500, true", "500, false"})
+    void exchange_shouldPassErrorResponseThrough(int status, boolean passthrough) throws IOException {
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.valueOf(status))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(ERROR));
+
+        ResponseEntity<Object> response = transport(passthrough)
+                .exchange(HttpMethod.GET, "/1", 1L, null, null)
+                .block();
+
+        server.verify();
+        assertError(response, status);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"400", "500"})
+    void postStream_shouldPassErrorResponseThrough(int status) throws IOException {
+        server.expect(requestTo("http://localhost:9090/items/import"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withStatus(HttpStatus.valueOf(status))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(ERROR));
+
+        ResponseEntity<Object> response = transport(true)
+                .postStream("/import", 1L, MediaType.APPLICATION_NDJSON,
+                        new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)))
+                .block();
+
+        server.verify();
+        assertError(response, status);
+    }
+
+    private RestTemplateTransport transport(boolean passthrough) {
+        return new RestTemplateTransport(rest, passthrough,
+                new ServerCodec(mapper, mapper, MediaType.APPLICATION_JSON, false, 0));
+    }
+
+    private void assertError(ResponseEntity<Object> response, int status) throws IOException {
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode().value()).isEqualTo(status);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH)).isFalse();
+        assertThat(mapper.readValue((byte[]) response.getBody(), Map.class))
+                .isEqualTo(mapper.readValue(ERROR, Map.class));
+    }
+}
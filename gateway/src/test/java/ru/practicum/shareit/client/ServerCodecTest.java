@@ -0,0 +1,187 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServerCodecTest {
+    private static final Map<String, Object> BODY = Map.of("name", "Дрель", "description", "Мощная дрель",
+            "available", true);
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper smileMapper = jsonMapper.copyWith(new SmileFactory());
+
+    @Test
+    void encode_shouldLeaveJsonBodyToConverterWithoutCompression() throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+
+        Object encoded = jsonCodec(false, 0).encode(BODY, headers);
+
+        assertThat(encoded).isSameAs(BODY);
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+    }
+
+    @Test
+    void encode_shouldReturnNullBodyAsIs() throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+
+        assertThat(smileCodec(true, 0).encode(null, headers)).isNull();
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+    }
+
+    @Test
+    void encode_shouldCompressJsonBodyFromThreshold() throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+
+        byte[] encoded = (byte[]) jsonCodec(true, 1).encode(BODY, headers);
+
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(jsonMapper.readValue(gunzip(encoded), Map.class)).isEqualTo(BODY);
+    }
+
+    @Test
+    void encode_shouldNotCompressBodyBelowThreshold() throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+
+        byte[] encoded = (byte[]) jsonCodec(true, 1024).encode(BODY, headers);
+
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(jsonMapper.readValue(encoded, Map.class)).isEqualTo(BODY);
+    }
+
+    @Test
+    void encode_shouldWriteSmileWithoutCompression() throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+
+        byte[] encoded = (byte[]) smileCodec(false, 0).encode(BODY, headers);
+
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(smileMapper.readValue(encoded, Map.class)).isEqualTo(BODY);
+    }
+
+    @Test
+    void encode_shouldCompressSmileFromThreshold() throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+
+        byte[] encoded = (byte[]) smileCodec(true, 1).encode(BODY, headers);
+
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(smileMapper.readValue(gunzip(encoded), Map.class)).isEqualTo(BODY);
+    }
+
+    @Test
+    void requestHeaders_shouldAcceptJsonAsFallbackForSmile() {
+        HttpHeaders headers = smileCodec(false, 0).requestHeaders(1L);
+
+        assertThat(headers.getContentType()).isEqualTo(ServerCodec.SMILE);
+        assertThat(headers.getAccept()).containsExactly(ServerCodec.SMILE,
+                MediaType.valueOf("application/json;q=0.9"));
+        assertThat(headers.getFirst("X-Sharer-User-Id")).isEqualTo("1");
+    }
+
+    @Test
+    void toGatewayResponse_shouldTranscodeSmileToJson() throws IOException {
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.setContentType(ServerCodec.SMILE);
+        serverHeaders.setContentLength(100);
+
+        ResponseEntity<Object> response = smileCodec(true, 0)
+                .toGatewayResponse(HttpStatus.OK, serverHeaders, smileMapper.writeValueAsBytes(BODY));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH)).isFalse();
+        assertThat(jsonMapper.readValue((byte[]) response.getBody(), Map.class)).isEqualTo(BODY);
+    }
+
+    @Test
+    void toGatewayResponse_shouldPassJsonBodyAsIs() throws IOException {
+        byte[] json = jsonMapper.writeValueAsBytes(BODY);
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.setContentType(MediaType.APPLICATION_JSON);
+
+        ResponseEntity<Object> response = jsonCodec(false, 0)
+                .toGatewayResponse(HttpStatus.CREATED, serverHeaders, json);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getBody()).isSameAs(json);
+    }
+
+    @Test
+    void toGatewayResponse_shouldPassErrorBodyWithStatus() throws IOException {
+        Map<String, String> error = Map.of("error", "Вещь с id = 1 не найдена");
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.setContentType(ServerCodec.SMILE);
+
+        ResponseEntity<Object> response = smileCodec(false, 0)
+                .toGatewayResponse(HttpStatus.NOT_FOUND, serverHeaders, smileMapper.writeValueAsBytes(error));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(jsonMapper.readValue((byte[]) response.getBody(), Map.class)).isEqualTo(error);
+    }
+
+    @Test
+    void toGatewayResponse_shouldBuildEmptyResponseWithoutBody() throws IOException {
+        ResponseEntity<Object> response = jsonCodec(false, 0)
+                .toGatewayResponse(HttpStatus.NO_CONTENT, new HttpHeaders(), new byte[0]);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(response.hasBody()).isFalse();
+    }
+
+    @Test
+    void gatewayHeaders_shouldDropHopByHopHeadersAndContentLength() {
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.setContentType(MediaType.APPLICATION_JSON);
+        serverHeaders.setContentLength(42);
+        serverHeaders.set(HttpHeaders.CONNECTION, "keep-alive");
+        serverHeaders.set("keep-alive", "timeout=20");
+        serverHeaders.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        serverHeaders.set(HttpHeaders.DATE, "Sun, 18 Oct 2026 10:00:00 GMT");
+        serverHeaders.set(HttpHeaders.LOCATION, "/items/1");
+        serverHeaders.set("X-Total-Count", "3");
+
+        HttpHeaders headers = jsonCodec(false, 0).gatewayHeaders(serverHeaders);
+
+        assertThat(headers.keySet()).containsExactlyInAnyOrder(HttpHeaders.CONTENT_TYPE, HttpHeaders.LOCATION,
+                "X-Total-Count");
+        assertThat(headers.getFirst("X-Total-Count")).isEqualTo("3");
+    }
+
+    @Test
+    void gatewayHeaders_shouldReplaceSmileContentTypeWithJson() {
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.setContentType(ServerCodec.SMILE);
+
+        HttpHeaders headers = smileCodec(false, 0).gatewayHeaders(serverHeaders);
+
+        assertThat(headers.getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    private ServerCodec jsonCodec(boolean compression, long compressionMinSize) {
+        return new ServerCodec(jsonMapper, jsonMapper, MediaType.APPLICATION_JSON, compression, compressionMinSize);
+    }
+
+    private ServerCodec smileCodec(boolean compression, long compressionMinSize) {
+        return new ServerCodec(jsonMapper, smileMapper, ServerCodec.SMILE, compression, compressionMinSize);
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return gzip.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingController;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ServerStreamTest {
+    private static final String[] CHUNKS = {
+            "{\"id\":1,\"status\":\"APPROVED\"}\n{\"id\":2,",
+            "\"status\":\"WAITING\"}\n",
+            "{\"id\":3,\"item\":\"Дрель\"}\n"
+    };
+
+    private final AtomicInteger streams = new AtomicInteger();
+    private final AtomicBoolean serverResponseClosed = new AtomicBoolean();
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost:9090/bookings")
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                        .body(Flux.fromArray(CHUNKS)
+                                .map(chunk -> (DataBuffer) DefaultDataBufferFactory.sharedInstance
+                                        .wrap(chunk.getBytes(StandardCharsets.UTF_8)))
+                                .doFinally(signal -> serverResponseClosed.set(true)))
+                        .build()))
+                .build();
+        ServerStream stream = new ServerStream(webClient, 1, streams);
+        BookingClient bookingClient = mock(BookingClient.class);
+        when(bookingClient.exportBookings(1L)).thenAnswer(invocation -> stream.ndjson("/export", 1L));
+        mvc = MockMvcBuilders.standaloneSetup(new BookingController(bookingClient)).build();
+    }
+
+    @Test
+    void exportBookings_shouldForwardServerBytesUnchanged() throws Exception {
+        MvcResult result = mvc.perform(get("/bookings/export").header("X-Sharer-User-Id", 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(5_000);
+
+        byte[] body = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(new String(body, StandardCharsets.UTF_8)).isEqualTo(String.join("", CHUNKS));
+        assertThat(serverResponseClosed).isTrue();
+        assertThat(streams).hasValue(0);
+    }
+}
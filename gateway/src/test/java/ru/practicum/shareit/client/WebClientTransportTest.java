@@ -0,0 +1,81 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebClientTransportTest {
+    private static final String ERROR = "{\"error\":\"Вещь с id = 1 не найдена\"}";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<ClientRequest> requests = new ArrayList<>();
+
+    @ParameterizedTest
+    @CsvSource({"404, true", "404, false", "409, false", "500, true", "500, false"})
+    void exchange_shouldPassErrorResponseThrough(int status, boolean passthrough) throws IOException {
+        ResponseEntity<Object> response = transport(status, passthrough)
+                .exchange(HttpMethod.GET, "/{id}", 1L, Map.of("id", 1), null)
+                .block();
+
+        assertThat(requests).singleElement()
+                .satisfies(request -> assertThat(request.url().getPath()).isEqualTo("/items/1"));
+        assertError(response, status);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"400", "500"})
+    void postStream_shouldPassErrorResponseThrough(int status) throws IOException {
+        ResponseEntity<Object> response = transport(status, true)
+                .postStream("/import", 1L, MediaType.APPLICATION_NDJSON,
+                        new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)))
+                .block();
+
+        assertThat(requests).singleElement()
+                .satisfies(request -> assertThat(request.method()).isEqualTo(HttpMethod.POST));
+        assertError(response, status);
+    }
+
+    private WebClientTransport transport(int status, boolean passthrough) {
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost:9090/items")
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.just(ClientResponse.create(HttpStatus.valueOf(status))
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .header(HttpHeaders.CONTENT_LENGTH, String.valueOf(
+                                    ERROR.getBytes(StandardCharsets.UTF_8).length))
+                            .body(ERROR)
+                            .build());
+                })
+                .build();
+        return new WebClientTransport(webClient, passthrough,
+                new ServerCodec(mapper, mapper, MediaType.APPLICATION_JSON, false, 0));
+    }
+
+    private void assertError(ResponseEntity<Object> response, int status) throws IOException {
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode().value()).isEqualTo(status);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH)).isFalse();
+        assertThat(mapper.readValue((byte[]) response.getBody(), Map.class))
+                .isEqualTo(mapper.readValue(ERROR, Map.class));
+    }
+}
@@ -2,8 +2,12 @@ package ru.practicum.shareit;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
 
+// Кеш оборачивает транзакцию, поэтому вытеснение срабатывает уже после фиксации изменений.
 @SpringBootApplication
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
 public class ShareItServer {
 	public static void main(String[] args) {
 		SpringApplication.run(ShareItServer.class, args);
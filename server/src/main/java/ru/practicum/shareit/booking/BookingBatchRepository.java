@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.util.List;
+import java.util.Set;
+
+public interface BookingBatchRepository {
+
+    /**
+     * Меняет статус ожидающих бронирований одним запросом.
+     *
+     * @return идентификаторы бронирований, статус которых изменил этот запрос; бронирования, уже вышедшие
+     * из WAITING, в результат не попадают
+     */
+    Set<Long> updateWaitingStatuses(List<Long> bookingIds, BookingStatus status);
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.sql.PreparedStatement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Условный UPDATE через JDBC, который сам возвращает обновлённые строки: в PostgreSQL через RETURNING,
+ * в H2 через FINAL TABLE. Пакет JDBC для этого не годится: драйвер вправе ответить на строку пакета
+ * {@link java.sql.Statement#SUCCESS_NO_INFO}, и тогда не видно, кто сменил статус — этот запрос
+ * или параллельная транзакция.
+ */
+@RequiredArgsConstructor
+class BookingBatchRepositoryImpl implements BookingBatchRepository {
+    private static final String UPDATE_WAITING_STATUS_POSTGRESQL =
+            "UPDATE bookings SET status = ? WHERE id = ANY (?) AND status = 'WAITING' RETURNING id";
+    private static final String UPDATE_WAITING_STATUS_H2 =
+            "SELECT id FROM FINAL TABLE (UPDATE bookings SET status = ? WHERE id = ANY (?) AND status = 'WAITING')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String updateWaitingStatus;
+
+    @Override
+    public Set<Long> updateWaitingStatuses(List<Long> bookingIds, BookingStatus status) {
+        String sql = updateWaitingStatusSql();
+        return new HashSet<>(jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setString(1, status.name());
+            statement.setArray(2, connection.createArrayOf("BIGINT", bookingIds.toArray()));
+            return statement;
+        }, (resultSet, rowNum) -> resultSet.getLong(1)));
+    }
+
+    private String updateWaitingStatusSql() {
+        if (updateWaitingStatus == null) {
+            String database = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            updateWaitingStatus = "H2".equals(database) ? UPDATE_WAITING_STATUS_H2 : UPDATE_WAITING_STATUS_POSTGRESQL;
+        }
+        return updateWaitingStatus;
+    }
+}
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,11 +14,18 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingBatchApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingRqDto;
 import ru.practicum.shareit.booking.dto.BookingRsDto;
+import ru.practicum.shareit.booking.events.BookingStatusNotifier;
+import ru.practicum.shareit.booking.export.BookingExportService;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -26,6 +35,8 @@ public class BookingController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
 
     private final BookingService bookingService;
+    private final BookingStatusNotifier statusNotifier;
+    private final BookingExportService bookingExportService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -41,6 +52,30 @@ public class BookingController {
         return bookingService.approveBooking(ownerId, bookingId, approved);
     }
 
+    @PatchMapping("/batch")
+    public List<BookingApprovalResultDto> approveBookings(@RequestHeader(USER_ID_HEADER) Long ownerId,
+                                                          @RequestBody BookingBatchApprovalDto batchApprovalDto) {
+        return bookingService.approveBookings(ownerId, batchApprovalDto);
+    }
+
+    /**
+     * Поток изменений статусов бронирований пользователя как арендатора и как владельца вещей.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToStatusEvents(@RequestHeader(USER_ID_HEADER) Long userId) {
+        return statusNotifier.subscribe(userId);
+    }
+
+    /**
+     * Все бронирования пользователя как арендатора и как владельца вещей в NDJSON, без постраничного вывода.
+     */
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportBookings(@RequestHeader(USER_ID_HEADER) Long userId,
+                               HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        bookingExportService.export(userId, response.getOutputStream());
+    }
+
     @GetMapping("/{bookingId}")
     public BookingRsDto getBooking(@RequestHeader(USER_ID_HEADER) Long userId,
                                    @PathVariable("bookingId") Long bookingId) {
@@ -49,13 +84,33 @@ public class BookingController {
 
     @GetMapping
     public List<BookingRsDto> getUserBookings(@RequestHeader(USER_ID_HEADER) Long userId,
-                                              @RequestParam(name = "state", defaultValue = "ALL") BookingStatus state) {
-        return bookingService.getUserBookings(userId, state);
+                                              @RequestParam(name = "state", defaultValue = "ALL") BookingStatus state,
+                                              @RequestParam(name = "from", defaultValue = "0") int from,
+                                              @RequestParam(name = "size", defaultValue = "10") int size) {
+        return bookingService.getUserBookings(userId, state, from, size);
+    }
+
+    @GetMapping(params = "cursor")
+    public BookingPageDto getUserBookingsPage(@RequestHeader(USER_ID_HEADER) Long userId,
+                                              @RequestParam(name = "state", defaultValue = "ALL") BookingStatus state,
+                                              @RequestParam(name = "cursor") String cursor,
+                                              @RequestParam(name = "size", defaultValue = "10") int size) {
+        return bookingService.getUserBookingsPage(userId, state, cursor, size);
     }
 
     @GetMapping("/owner")
     public List<BookingRsDto> getOwnerBookings(@RequestHeader(USER_ID_HEADER) Long ownerId,
-                                               @RequestParam(required = false) BookingStatus status) {
-        return bookingService.getOwnerBookings(ownerId, status);
+                                               @RequestParam(name = "state", defaultValue = "ALL") BookingStatus state,
+                                               @RequestParam(name = "from", defaultValue = "0") int from,
+                                               @RequestParam(name = "size", defaultValue = "10") int size) {
+        return bookingService.getOwnerBookings(ownerId, state, from, size);
+    }
+
+    @GetMapping(path = "/owner", params = "cursor")
+    public BookingPageDto getOwnerBookingsPage(@RequestHeader(USER_ID_HEADER) Long ownerId,
+                                               @RequestParam(name = "state", defaultValue = "ALL") BookingStatus state,
+                                               @RequestParam(name = "cursor") String cursor,
+                                               @RequestParam(name = "size", defaultValue = "10") int size) {
+        return bookingService.getOwnerBookingsPage(ownerId, state, cursor, size);
     }
 }
\ No newline at end of file
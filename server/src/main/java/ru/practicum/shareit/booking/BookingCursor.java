@@ -0,0 +1,36 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.util.exception.ConditionsNotMetException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Позиция в ленте бронирований, упорядоченной по (start_date DESC, id DESC). Клиенту передаётся
+ * в виде непрозрачной строки, следующая страница выбирается условием «строго после этой позиции».
+ */
+public record BookingCursor(LocalDateTime start, long id) {
+    private static final String SEPARATOR = "|";
+
+    public static BookingCursor of(Booking booking) {
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    public static BookingCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new BookingCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new ConditionsNotMetException("Некорректный курсор: " + cursor);
+        }
+    }
+
+    public String encode() {
+        String raw = start + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
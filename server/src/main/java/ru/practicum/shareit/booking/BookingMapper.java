@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingExportRow;
 import ru.practicum.shareit.booking.dto.BookingRqDto;
 import ru.practicum.shareit.booking.dto.BookingRsDto;
 import ru.practicum.shareit.booking.model.Booking;
@@ -28,6 +29,24 @@ public class BookingMapper {
                 .build();
     }
 
+    public BookingRsDto toBookingRsDto(BookingExportRow row) {
+        return BookingRsDto.builder()
+                .id(row.id())
+                .start(row.start())
+                .end(row.end())
+                .item(Item.builder()
+                        .name(row.itemName())
+                        .id(row.itemId())
+                        .available(row.itemAvailable())
+                        .build())
+                .booker(User.builder()
+                        .id(row.bookerId())
+                        .name(row.bookerName())
+                        .build())
+                .status(row.status())
+                .build();
+    }
+
     public Booking toEntity(BookingRqDto bookingRqDto, Item item, User booker) {
         return Booking.builder()
                 .id(bookingRqDto.getId())
@@ -1,52 +1,213 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingApprovalCheck;
+import ru.practicum.shareit.booking.dto.BookingDates;
+import ru.practicum.shareit.booking.dto.BookingExportRow;
+import ru.practicum.shareit.booking.dto.BookingPeriod;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingBatchRepository {
 
-    List<Booking> findByBookerIdOrderByStartDesc(Long bookerId);
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long id);
 
-    List<Booking> findByItemOwnerIdOrderByStartDesc(Long ownerId);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findByBookerIdOrderByStartDescIdDesc(Long bookerId, Pageable pageable);
 
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(Long bookerId, BookingStatus status);
+    /**
+     * Бронирования вещей владельца. Вещь присоединяется внутренним JOIN FETCH, а не через {@code @EntityGraph}:
+     * с его LEFT JOIN база не может начать с вещей владельца по индексу и просматривает все бронирования.
+     */
+    @Query("""
+            SELECT b FROM Booking b
+            JOIN FETCH b.item i
+            JOIN FETCH b.booker
+            WHERE i.owner.id = :ownerId
+            ORDER BY b.start DESC, b.id DESC
+            """)
+    List<Booking> findByItemOwnerIdOrderByStartDescIdDesc(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findByBookerIdAndStatusOrderByStartDescIdDesc(Long bookerId, BookingStatus status, Pageable pageable);
 
     Optional<Booking> findTopByItemIdAndBookerIdAndEndBeforeOrderByEndDesc(Long itemId, Long bookerId, LocalDateTime now);
 
-    List<Booking> findByItemOwnerIdAndStatusOrderByStartDesc(Long userId, BookingStatus bookingStatus);
-
-    @Query(value = """
-            SELECT b.*
-            FROM bookings b
-            WHERE b.item_id IN :itemIds
-            AND b.start_date = (
-                SELECT MAX(b2.start_date)
-                FROM bookings b2
-                WHERE b2.item_id = b.item_id
-                AND b2.start_date < :now
-            )
-            """, nativeQuery = true)
-    List<Booking> findLastBookingsByItemIds(@Param("itemIds") List<Long> itemIds, @Param("now") LocalDateTime now);
-
-    @Query(value = """
-            SELECT b.*
-            FROM bookings b
-            WHERE b.item_id IN :itemIds
-            AND b.start_date = (
-                SELECT MIN(b2.start_date)
-                FROM bookings b2
-                WHERE b2.item_id = b.item_id
-                AND b2.start_date > :now
-            )
-            """, nativeQuery = true)
-    List<Booking> findNextBookingsByItemIds(@Param("itemIds") List<Long> itemIds, @Param("now") LocalDateTime now);
+    @Query("""
+            SELECT b FROM Booking b
+            JOIN FETCH b.item i
+            JOIN FETCH b.booker
+            WHERE i.owner.id = :ownerId
+            AND b.status = :status
+            ORDER BY b.start DESC, b.id DESC
+            """)
+    List<Booking> findByItemOwnerIdAndStatusOrderByStartDescIdDesc(@Param("ownerId") Long ownerId,
+                                                                   @Param("status") BookingStatus status,
+                                                                   Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("""
+            SELECT b FROM Booking b
+            WHERE b.booker.id = :bookerId
+            AND (b.start < :start OR (b.start = :start AND b.id < :id))
+            ORDER BY b.start DESC, b.id DESC
+            """)
+    List<Booking> findByBookerIdAfter(@Param("bookerId") Long bookerId,
+                                      @Param("start") LocalDateTime start,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("""
+            SELECT b FROM Booking b
+            WHERE b.booker.id = :bookerId
+            AND b.status = :status
+            AND (b.start < :start OR (b.start = :start AND b.id < :id))
+            ORDER BY b.start DESC, b.id DESC
+            """)
+    List<Booking> findByBookerIdAndStatusAfter(@Param("bookerId") Long bookerId,
+                                               @Param("status") BookingStatus status,
+                                               @Param("start") LocalDateTime start,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+
+    @Query("""
+            SELECT b FROM Booking b
+            JOIN FETCH b.item i
+            JOIN FETCH b.booker
+            WHERE i.owner.id = :ownerId
+            AND (b.start < :start OR (b.start = :start AND b.id < :id))
+            ORDER BY b.start DESC, b.id DESC
+            """)
+    List<Booking> findByItemOwnerIdAfter(@Param("ownerId") Long ownerId,
+                                         @Param("start") LocalDateTime start,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    @Query("""
+            SELECT b FROM Booking b
+            JOIN FETCH b.item i
+            JOIN FETCH b.booker
+            WHERE i.owner.id = :ownerId
+            AND b.status = :status
+            AND (b.start < :start OR (b.start = :start AND b.id < :id))
+            ORDER BY b.start DESC, b.id DESC
+            """)
+    List<Booking> findByItemOwnerIdAndStatusAfter(@Param("ownerId") Long ownerId,
+                                                  @Param("status") BookingStatus status,
+                                                  @Param("start") LocalDateTime start,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
+
+    /**
+     * Даты последнего и следующего бронирования для каждой вещи за один проход по бронированиям.
+     * Отклонённые и отменённые бронирования не учитываются.
+     */
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.dto.BookingDates(b.item.id,
+                   MAX(CASE WHEN b.start < :now THEN b.start END),
+                   MIN(CASE WHEN b.start > :now THEN b.start END))
+            FROM Booking b
+            WHERE b.item.id IN :itemIds
+            AND b.status NOT IN (ru.practicum.shareit.booking.model.BookingStatus.REJECTED,
+                                 ru.practicum.shareit.booking.model.BookingStatus.CANCELLED)
+            GROUP BY b.item.id
+            """)
+    List<BookingDates> findBookingDatesByItemIds(@Param("itemIds") List<Long> itemIds, @Param("now") LocalDateTime now);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.dto.BookingPeriod(b.id, b.item.id, b.start, b.end)
+            FROM Booking b
+            WHERE b.status IN :statuses
+            AND b.end > :after
+            """)
+    Stream<BookingPeriod> streamPeriods(@Param("statuses") Collection<BookingStatus> statuses,
+                                        @Param("after") LocalDateTime after);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.dto.BookingPeriod(b.id, b.item.id, b.start, b.end)
+            FROM Booking b
+            WHERE b.booker.id = :bookerId
+            AND b.status IN :statuses
+            AND b.end > :after
+            """)
+    List<BookingPeriod> findPeriodsByBookerId(@Param("bookerId") Long bookerId,
+                                              @Param("statuses") Collection<BookingStatus> statuses,
+                                              @Param("after") LocalDateTime after);
+
+    /**
+     * Бронирования пользователя как арендатора для выгрузки, от новых к старым. Строки читаются курсором
+     * порциями по fetch size и не попадают в контекст персистентности; поток нужно закрыть.
+     */
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.dto.BookingExportRow(b.id, b.start, b.end, i.id, i.name,
+                   i.available, bk.id, bk.name, b.status)
+            FROM Booking b
+            JOIN b.item i
+            JOIN b.booker bk
+            WHERE bk.id = :userId
+            ORDER BY b.start DESC, b.id DESC
+            """)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<BookingExportRow> streamExportRowsAsBooker(@Param("userId") Long userId);
+
+    /**
+     * Бронирования вещей пользователя другими пользователями для выгрузки, в том же порядке и так же курсором.
+     * Свои бронирования своих вещей сюда не входят: они уже есть среди бронирований арендатора.
+     */
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.dto.BookingExportRow(b.id, b.start, b.end, i.id, i.name,
+                   i.available, bk.id, bk.name, b.status)
+            FROM Booking b
+            JOIN b.item i
+            JOIN b.booker bk
+            WHERE i.owner.id = :userId
+            AND bk.id <> :userId
+            ORDER BY b.start DESC, b.id DESC
+            """)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<BookingExportRow> streamExportRowsAsOwner(@Param("userId") Long userId);
+
+    /**
+     * Меняет статус ожидающего бронирования вещи владельца одним запросом. Параллельные вызовы
+     * сериализуются блокировкой строки, и обновление проходит только у первого.
+     *
+     * @return число обновлённых строк: 0, если бронирования нет, вещь чужая или статус уже не WAITING
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Booking b SET b.status = :status
+            WHERE b.id = :id
+            AND b.status = ru.practicum.shareit.booking.model.BookingStatus.WAITING
+            AND b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId)
+            """)
+    int updateWaitingStatus(@Param("id") Long id,
+                            @Param("ownerId") Long ownerId,
+                            @Param("status") BookingStatus status);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.dto.BookingApprovalCheck(
+                b.id, b.item.id, b.item.owner.id, b.booker.id, b.status, b.start, b.end)
+            FROM Booking b
+            WHERE b.id IN :ids
+            """)
+    List<BookingApprovalCheck> findApprovalChecks(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,179 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.AvailabilityWindowDto;
+import ru.practicum.shareit.booking.dto.BookingPeriod;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Календари занятости вещей в памяти по активным (ожидающим и подтверждённым) бронированиям.
+ * Строится из базы при старте без завершившихся бронирований и обновляется после фиксации транзакций,
+ * которые создают, подтверждают и отклоняют бронирования или удаляют пользователей. Чтение — поиск
+ * по неизменяемому календарю без обращения к базе; завершившиеся бронирования периодически вычищаются.
+ * <p>
+ * Бронирования, созданные другим экземпляром сервера, календарь не видит до перезапуска: свободные окна
+ * точны только при одном экземпляре, а пересечения при создании бронирования отклоняет сама база.
+ * Календари строятся до перехода приложения в состояние готовности принимать трафик.
+ */
+@Slf4j
+@Component
+public class ItemAvailabilityEngine implements DisposableBean {
+    private static final Set<BookingStatus> ACTIVE = Set.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    private static final Duration PRUNE_INTERVAL = Duration.ofMinutes(10);
+
+    private final BookingRepository bookingRepository;
+    private final ConcurrentMap<Long, ItemCalendar> calendars = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService pruner;
+
+    public ItemAvailabilityEngine(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+        this.pruner = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("item-availability-pruner").daemon().factory());
+        long period = PRUNE_INTERVAL.toMillis();
+        pruner.scheduleAtFixedRate(this::pruneEnded, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        long startedAt = System.nanoTime();
+        try (Stream<BookingPeriod> periods = bookingRepository.streamPeriods(ACTIVE, LocalDateTime.now())) {
+            periods.forEach(period -> put(period.itemId(), period.bookingId(), period.start(), period.end()));
+        }
+        log.info("Календари занятости построены: {} вещей за {} мс",
+                calendars.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    @Override
+    public void destroy() {
+        pruner.shutdownNow();
+    }
+
+    /**
+     * Учитывает сохранённое бронирование после фиксации текущей транзакции.
+     */
+    public void onBookingSaved(Booking booking) {
+        onBookingSaved(new BookingPeriod(booking.getId(), booking.getItem().getId(), booking.getStart(),
+                booking.getEnd()), booking.getStatus());
+    }
+
+    /**
+     * Учитывает новый статус бронирования с заданным периодом после фиксации текущей транзакции.
+     */
+    public void onBookingSaved(BookingPeriod period, BookingStatus status) {
+        boolean active = ACTIVE.contains(status);
+        afterCommit(() -> {
+            if (active) {
+                put(period.itemId(), period.bookingId(), period.start(), period.end());
+            } else {
+                remove(period.itemId(), period.bookingId());
+            }
+        });
+    }
+
+    /**
+     * Убирает из календарей вещи пользователя и его бронирования после фиксации текущей транзакции.
+     * Вызывается до удаления пользователя: его бронирования удаляются каскадно в базе и читаются заранее.
+     */
+    public void onUserDeleted(long userId, Collection<Long> itemIds) {
+        List<Long> items = List.copyOf(itemIds);
+        List<BookingPeriod> bookings = bookingRepository.findPeriodsByBookerId(userId, ACTIVE,
+                LocalDateTime.now());
+        afterCommit(() -> {
+            items.forEach(calendars::remove);
+            bookings.forEach(period -> remove(period.itemId(), period.bookingId()));
+        });
+    }
+
+    /**
+     * Занята ли вещь активным бронированием в интервале [start, end).
+     */
+    public boolean isBooked(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            return false;
+        }
+        return calendar(itemId).overlapping(toMillis(start), toMillis(end)).length > 0;
+    }
+
+    /**
+     * Свободные окна вещи внутри интервала [from, to).
+     */
+    public List<AvailabilityWindowDto> getFreeWindows(Long itemId, LocalDateTime from, LocalDateTime to) {
+        return calendar(itemId).freeWindows(toMillis(from), toMillis(to)).stream()
+                .map(window -> AvailabilityWindowDto.builder()
+                        .start(toDateTime(window[0]))
+                        .end(toDateTime(window[1]))
+                        .build())
+                .toList();
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    private ItemCalendar calendar(Long itemId) {
+        return calendars.getOrDefault(itemId, ItemCalendar.EMPTY);
+    }
+
+    void pruneEnded() {
+        long now = toMillis(LocalDateTime.now());
+        calendars.keySet().forEach(itemId -> calendars.computeIfPresent(itemId,
+                (id, calendar) -> nullIfEmpty(calendar.withoutEndedBy(now))));
+    }
+
+    private void put(Long itemId, Long bookingId, LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            return;
+        }
+        calendars.compute(itemId, (id, calendar) -> (calendar == null ? ItemCalendar.EMPTY : calendar)
+                .with(bookingId, toMillis(start), toMillis(end)));
+    }
+
+    private void remove(Long itemId, Long bookingId) {
+        calendars.computeIfPresent(itemId, (id, calendar) -> nullIfEmpty(calendar.without(bookingId)));
+    }
+
+    private static ItemCalendar nullIfEmpty(ItemCalendar calendar) {
+        return calendar.size() == 0 ? null : calendar;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000), (int) Math.floorMod(millis, 1000) * 1_000_000,
+                ZoneOffset.UTC);
+    }
+}
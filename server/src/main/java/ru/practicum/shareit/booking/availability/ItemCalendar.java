@@ -0,0 +1,148 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Неизменяемый календарь занятости одной вещи: периоды активных бронирований [start, end) в миллисекундах,
+ * отсортированные по началу, в параллельных массивах. Изменение создаёт новый календарь, поэтому читать его
+ * можно без блокировок. {@code maxEnds[i]} — наибольший конец среди первых i + 1 периодов: по нему
+ * бинарным поиском находится первый период, который может пересекать запрошенный интервал.
+ */
+final class ItemCalendar {
+    static final ItemCalendar EMPTY = new ItemCalendar(new long[0], new long[0], new long[0]);
+
+    private final long[] bookingIds;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    private ItemCalendar(long[] bookingIds, long[] starts, long[] ends) {
+        this.bookingIds = bookingIds;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new long[ends.length];
+        for (int i = 0; i < ends.length; i++) {
+            maxEnds[i] = i == 0 ? ends[i] : Math.max(maxEnds[i - 1], ends[i]);
+        }
+    }
+
+    int size() {
+        return bookingIds.length;
+    }
+
+    /**
+     * Календарь с периодом бронирования; прежний период того же бронирования заменяется.
+     */
+    ItemCalendar with(long bookingId, long start, long end) {
+        ItemCalendar base = without(bookingId);
+        int position = Arrays.binarySearch(base.starts, start);
+        if (position < 0) {
+            position = -position - 1;
+        }
+        return new ItemCalendar(
+                insert(base.bookingIds, position, bookingId),
+                insert(base.starts, position, start),
+                insert(base.ends, position, end));
+    }
+
+    ItemCalendar without(long bookingId) {
+        for (int i = 0; i < bookingIds.length; i++) {
+            if (bookingIds[i] == bookingId) {
+                return new ItemCalendar(remove(bookingIds, i), remove(starts, i), remove(ends, i));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Календарь без периодов, закончившихся не позже {@code now}; если таких нет — этот же календарь.
+     */
+    ItemCalendar withoutEndedBy(long now) {
+        int kept = 0;
+        for (long end : ends) {
+            if (end > now) {
+                kept++;
+            }
+        }
+        if (kept == ends.length) {
+            return this;
+        }
+        long[] keptIds = new long[kept];
+        long[] keptStarts = new long[kept];
+        long[] keptEnds = new long[kept];
+        int size = 0;
+        for (int i = 0; i < ends.length; i++) {
+            if (ends[i] > now) {
+                keptIds[size] = bookingIds[i];
+                keptStarts[size] = starts[i];
+                keptEnds[size] = ends[i];
+                size++;
+            }
+        }
+        return new ItemCalendar(keptIds, keptStarts, keptEnds);
+    }
+
+    /**
+     * Идентификаторы бронирований, пересекающих интервал [from, to).
+     */
+    long[] overlapping(long from, long to) {
+        int first = firstCandidate(from);
+        long[] result = new long[starts.length - first];
+        int size = 0;
+        for (int i = first; i < starts.length && starts[i] < to; i++) {
+            if (ends[i] > from) {
+                result[size++] = bookingIds[i];
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Свободные окна внутри интервала [from, to) парами {начало, конец}.
+     */
+    List<long[]> freeWindows(long from, long to) {
+        List<long[]> windows = new ArrayList<>();
+        long cursor = from;
+        for (int i = firstCandidate(from); i < starts.length && starts[i] < to; i++) {
+            if (starts[i] > cursor) {
+                windows.add(new long[]{cursor, starts[i]});
+            }
+            cursor = Math.max(cursor, ends[i]);
+        }
+        if (cursor < to) {
+            windows.add(new long[]{cursor, to});
+        }
+        return windows;
+    }
+
+    private int firstCandidate(long from) {
+        int low = 0;
+        int high = maxEnds.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (maxEnds[middle] > from) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private static long[] insert(long[] values, int position, long value) {
+        long[] result = new long[values.length + 1];
+        System.arraycopy(values, 0, result, 0, position);
+        result[position] = value;
+        System.arraycopy(values, position, result, position + 1, values.length - position);
+        return result;
+    }
+
+    private static long[] remove(long[] values, int position) {
+        long[] result = new long[values.length - 1];
+        System.arraycopy(values, 0, result, 0, position);
+        System.arraycopy(values, position + 1, result, position, values.length - position - 1);
+        return result;
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Данные бронирования, нужные для проверки перед сменой статуса владельцем.
+ */
+public record BookingApprovalCheck(Long bookingId, Long itemId, Long ownerId, Long bookerId, BookingStatus status,
+                                   LocalDateTime start, LocalDateTime end) {
+
+    public BookingPeriod period() {
+        return new BookingPeriod(bookingId, itemId, start, end);
+    }
+}
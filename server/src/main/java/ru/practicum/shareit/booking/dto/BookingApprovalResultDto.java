@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingApprovalResultDto {
+    private Long bookingId;
+    private Outcome outcome;
+    private BookingStatus status;
+
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        FORBIDDEN,
+        ALREADY_PROCESSED
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Даты последнего и следующего бронирования вещи.
+ */
+public record BookingDates(Long itemId, LocalDateTime lastBooking, LocalDateTime nextBooking) {
+}
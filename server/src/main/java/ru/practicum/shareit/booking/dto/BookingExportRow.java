@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка выгрузки бронирований: поля {@link BookingRsDto} без загрузки сущностей.
+ */
+public record BookingExportRow(Long id, LocalDateTime start, LocalDateTime end, Long itemId, String itemName,
+                               boolean itemAvailable, Long bookerId, String bookerName, BookingStatus status) {
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Период бронирования вещи.
+ */
+public record BookingPeriod(Long bookingId, Long itemId, LocalDateTime start, LocalDateTime end) {
+}
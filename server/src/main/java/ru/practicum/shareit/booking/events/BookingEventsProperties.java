@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.events;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Потоки событий о статусах бронирований: общий лимит подписок и лимит на пользователя, число событий,
+ * которые ждут отправки в одном соединении, период пустых комментариев, не дающих соединению простаивать,
+ * и время жизни подписки, после которого клиент переподключается.
+ */
+@ConfigurationProperties("shareit.booking-events")
+public record BookingEventsProperties(@DefaultValue("2000") int maxConnections,
+                                      @DefaultValue("4") int maxConnectionsPerUser,
+                                      @DefaultValue("32") int bufferSize,
+                                      @DefaultValue("4") int senderThreads,
+                                      @DefaultValue("15s") Duration heartbeatInterval,
+                                      @DefaultValue("30m") Duration timeout,
+                                      @DefaultValue("3s") Duration reconnectDelay) {
+}
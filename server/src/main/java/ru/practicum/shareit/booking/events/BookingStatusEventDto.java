@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingStatusEventDto {
+    private Long bookingId;
+    private Long itemId;
+    private BookingStatus status;
+}
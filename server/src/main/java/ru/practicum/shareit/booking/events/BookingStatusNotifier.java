@@ -0,0 +1,215 @@
+package ru.practicum.shareit.booking.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.util.exception.ServiceUnavailableException;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Рассылает изменения статусов бронирований по SSE арендатору и владельцу вещи после фиксации транзакции.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(BookingEventsProperties.class)
+public class BookingStatusNotifier implements DisposableBean {
+    static final String EVENT_NAME = "booking-status";
+
+    private final BookingEventsProperties properties;
+    private final ConcurrentMap<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Counter overflows;
+    private final ExecutorService sender;
+    private final ScheduledExecutorService heartbeat;
+
+    public BookingStatusNotifier(BookingEventsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        Gauge.builder("shareit.booking-events.connections", connections, AtomicInteger::get)
+                .register(meterRegistry);
+        this.overflows = Counter.builder("shareit.booking-events.overflows").register(meterRegistry);
+        this.sender = Executors.newFixedThreadPool(properties.senderThreads(),
+                Thread.ofPlatform().name("booking-events-", 1).daemon().factory());
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("booking-events-heartbeat").daemon().factory());
+        long period = properties.heartbeatInterval().toMillis();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(long userId) {
+        if (connections.incrementAndGet() > properties.maxConnections()) {
+            connections.decrementAndGet();
+            throw new ServiceUnavailableException("Превышено число подписок на события бронирований");
+        }
+        Subscription subscription = new Subscription(userId, new SseEmitter(properties.timeout().toMillis()));
+        try {
+            subscriptions.compute(userId, (id, current) -> {
+                Set<Subscription> userSubscriptions = current != null ? current : new CopyOnWriteArraySet<>();
+                if (userSubscriptions.size() >= properties.maxConnectionsPerUser()) {
+                    throw new ServiceUnavailableException("Превышено число подписок пользователя с id=" + userId
+                            + " на события бронирований");
+                }
+                userSubscriptions.add(subscription);
+                return userSubscriptions;
+            });
+        } catch (ServiceUnavailableException e) {
+            connections.decrementAndGet();
+            throw e;
+        }
+        SseEmitter emitter = subscription.emitter;
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(() -> {
+            subscription.close();
+            emitter.complete();
+        });
+        emitter.onError(e -> subscription.close());
+        // Первое сообщение сразу отдаёт клиенту заголовки ответа и задаёт паузу перед переподключением.
+        subscription.offer(SseEmitter.event()
+                .reconnectTime(properties.reconnectDelay().toMillis())
+                .comment("connected"));
+        log.debug("Пользователь {} подписался на события бронирований", userId);
+        return emitter;
+    }
+
+    /**
+     * Отправляет событие арендатору и владельцу вещи после фиксации текущей транзакции.
+     */
+    public void onStatusChanged(BookingStatusEventDto event, Long bookerId, Long ownerId) {
+        Runnable publish = () -> {
+            publish(bookerId, event);
+            if (!ownerId.equals(bookerId)) {
+                publish(ownerId, event);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish.run();
+            }
+        });
+    }
+
+    int connections() {
+        return connections.get();
+    }
+
+    private void publish(Long userId, BookingStatusEventDto event) {
+        Set<Subscription> userSubscriptions = subscriptions.get(userId);
+        if (userSubscriptions == null) {
+            return;
+        }
+        for (Subscription subscription : userSubscriptions) {
+            subscription.offer(SseEmitter.event()
+                    .id(String.valueOf(event.getBookingId()))
+                    .name(EVENT_NAME)
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private void sendHeartbeats() {
+        subscriptions.values().forEach(userSubscriptions -> userSubscriptions.forEach(subscription ->
+                subscription.offer(SseEmitter.event().comment("ping"))));
+    }
+
+    @Override
+    public void destroy() {
+        heartbeat.shutdownNow();
+        subscriptions.values().forEach(userSubscriptions -> userSubscriptions.forEach(subscription -> {
+            subscription.close();
+            subscription.emitter.complete();
+        }));
+        sender.shutdown();
+    }
+
+    /**
+     * Соединение со своей ограниченной очередью, которую разбирают общие потоки отправки, поэтому медленный
+     * клиент не задерживает остальных. При переполнении соединение закрывается: клиент переподключается
+     * и перечитывает бронирования.
+     */
+    private final class Subscription {
+        private final long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscription(long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(properties.bufferSize());
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                log.warn("Очередь событий бронирований пользователя {} переполнена, соединение закрыто", userId);
+                overflows.increment();
+                close();
+                emitter.complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = buffer.poll()) != null) {
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        log.debug("Подписчик {} на события бронирований отключился: {}", userId, e.getMessage());
+                        close();
+                        return;
+                    }
+                }
+                draining.set(false);
+            } while (!closed.get() && !buffer.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            buffer.clear();
+            subscriptions.computeIfPresent(userId, (id, userSubscriptions) -> {
+                userSubscriptions.remove(this);
+                return userSubscriptions.isEmpty() ? null : userSubscriptions;
+            });
+            connections.decrementAndGet();
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingBatchApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingRqDto;
 import ru.practicum.shareit.booking.dto.BookingRsDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -11,9 +14,15 @@ public interface BookingService {
 
     BookingRsDto approveBooking(Long ownerId, Long bookingId, boolean approved);
 
+    List<BookingApprovalResultDto> approveBookings(Long ownerId, BookingBatchApprovalDto batchApprovalDto);
+
     BookingRsDto getBooking(Long userId, Long bookingId);
 
-    List<BookingRsDto> getUserBookings(Long userId, BookingStatus status);
+    List<BookingRsDto> getUserBookings(Long userId, BookingStatus status, int from, int size);
+
+    List<BookingRsDto> getOwnerBookings(Long ownerId, BookingStatus status, int from, int size);
+
+    BookingPageDto getUserBookingsPage(Long userId, BookingStatus status, String cursor, int size);
 
-    List<BookingRsDto> getOwnerBookings(Long ownerId, BookingStatus status);
+    BookingPageDto getOwnerBookingsPage(Long ownerId, BookingStatus status, String cursor, int size);
 }
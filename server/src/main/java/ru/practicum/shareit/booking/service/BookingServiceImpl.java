@@ -1,10 +1,21 @@
 package ru.practicum.shareit.booking.service;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityEngine;
+import ru.practicum.shareit.booking.dto.BookingApprovalCheck;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto.Outcome;
+import ru.practicum.shareit.booking.dto.BookingBatchApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingRqDto;
 import ru.practicum.shareit.booking.dto.BookingRsDto;
+import ru.practicum.shareit.booking.events.BookingStatusEventDto;
+import ru.practicum.shareit.booking.events.BookingStatusNotifier;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -17,18 +28,31 @@ import ru.practicum.shareit.util.exception.ConditionsNotMetException;
 import ru.practicum.shareit.util.exception.DataConflictException;
 import ru.practicum.shareit.util.exception.NotFoundException;
 import ru.practicum.shareit.util.exception.UnauthorizedException;
+import ru.practicum.shareit.util.pagination.PageRequestFactory;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class BookingServiceImpl implements BookingService {
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final int MAX_BATCH_APPROVAL_SIZE = 500;
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserService userService;
     private final BookingMapper bookingMapper;
+    private final PageRequestFactory pageRequestFactory;
+    private final ItemAvailabilityEngine availabilityEngine;
+    private final BookingStatusNotifier statusNotifier;
 
     @Override
     public BookingRsDto createBooking(Long userId, BookingRqDto bookingRqDto) {
@@ -39,27 +63,94 @@ public class BookingServiceImpl implements BookingService {
         if (!item.isAvailable()) {
             throw new ConditionsNotMetException("Вещь c id=" + itemId + " недоступна для бронирования");
         }
+        if (availabilityEngine.isBooked(itemId, bookingRqDto.getStart(), bookingRqDto.getEnd())) {
+            throw new DataConflictException("Вещь c id=" + itemId + " уже забронирована на этот период");
+        }
         Booking booking = bookingMapper.toEntity(bookingRqDto, item, booker);
-        Booking savedBooking = bookingRepository.save(booking);
+        Booking savedBooking;
+        try {
+            savedBooking = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (!isOverlap(e)) {
+                throw e;
+            }
+            throw new DataConflictException("Вещь c id=" + itemId + " уже забронирована на этот период");
+        }
+        availabilityEngine.onBookingSaved(savedBooking);
+        notifyStatusChanged(savedBooking);
         return bookingMapper.toBookingRsDto(savedBooking);
     }
 
     @Override
     public BookingRsDto approveBooking(Long ownerId, Long bookingId, boolean approved) {
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        int updated = bookingRepository.updateWaitingStatus(bookingId, ownerId, status);
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование с id=" + bookingId + " не найдено"));
-        if (!booking.getItem().getOwner().getId().equals(ownerId)) {
-            throw new UnauthorizedException("Пользователь с id=" + ownerId + " не является владельцем вещи");
-        }
-        if (booking.getStatus() != BookingStatus.WAITING) {
+        if (updated == 0) {
+            if (!booking.getItem().getOwner().getId().equals(ownerId)) {
+                throw new UnauthorizedException("Пользователь с id=" + ownerId + " не является владельцем вещи");
+            }
             throw new DataConflictException("Бронирование с id=" + bookingId + " уже обработано");
         }
-        booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        Booking savedBooking = bookingRepository.save(booking);
-        return bookingMapper.toBookingRsDto(savedBooking);
+        availabilityEngine.onBookingSaved(booking);
+        notifyStatusChanged(booking);
+        return bookingMapper.toBookingRsDto(booking);
+    }
+
+    /**
+     * Проверяет все бронирования одним запросом и меняет статус подходящих одним условным UPDATE.
+     * Бронирование, статус которого успел смениться между проверкой и обновлением, получает ALREADY_PROCESSED.
+     */
+    @Override
+    public List<BookingApprovalResultDto> approveBookings(Long ownerId, BookingBatchApprovalDto batchApprovalDto) {
+        if (batchApprovalDto.getBookingIds() == null || batchApprovalDto.getBookingIds().isEmpty()
+                || batchApprovalDto.getApproved() == null) {
+            throw new ConditionsNotMetException("Нужно указать бронирования и решение по ним");
+        }
+        List<Long> bookingIds = batchApprovalDto.getBookingIds().stream().distinct().toList();
+        if (bookingIds.size() > MAX_BATCH_APPROVAL_SIZE) {
+            throw new ConditionsNotMetException(
+                    "За один раз можно обработать не более " + MAX_BATCH_APPROVAL_SIZE + " бронирований");
+        }
+        BookingStatus status = batchApprovalDto.getApproved() ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        Map<Long, BookingApprovalCheck> checks = bookingRepository.findApprovalChecks(bookingIds).stream()
+                .collect(Collectors.toMap(BookingApprovalCheck::bookingId, Function.identity()));
+
+        List<BookingApprovalCheck> waiting = new ArrayList<>();
+        for (Long bookingId : bookingIds) {
+            BookingApprovalCheck check = checks.get(bookingId);
+            if (check != null && check.ownerId().equals(ownerId) && check.status() == BookingStatus.WAITING) {
+                waiting.add(check);
+            }
+        }
+        Set<Long> updatedIds = new HashSet<>();
+        for (BookingApprovalCheck check : updateWaitingStatuses(waiting, status)) {
+            updatedIds.add(check.bookingId());
+            availabilityEngine.onBookingSaved(check.period(), status);
+            statusNotifier.onStatusChanged(new BookingStatusEventDto(check.bookingId(), check.itemId(), status),
+                    check.bookerId(), check.ownerId());
+        }
+        return bookingIds.stream()
+                .map(bookingId -> toApprovalResult(bookingId, checks.get(bookingId), ownerId,
+                        updatedIds.contains(bookingId) ? status : null))
+                .toList();
+    }
+
+    private List<BookingApprovalCheck> updateWaitingStatuses(List<BookingApprovalCheck> waiting,
+                                                             BookingStatus status) {
+        if (waiting.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> updatedIds = bookingRepository.updateWaitingStatuses(
+                waiting.stream().map(BookingApprovalCheck::bookingId).toList(), status);
+        return waiting.stream()
+                .filter(check -> updatedIds.contains(check.bookingId()))
+                .toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BookingRsDto getBooking(Long userId, Long bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование с id=" + bookingId + " не найдено"));
@@ -71,40 +162,116 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingRsDto> getUserBookings(Long userId, BookingStatus status) {
+    @Transactional(readOnly = true)
+    public List<BookingRsDto> getUserBookings(Long userId, BookingStatus status, int from, int size) {
+        userService.findById(userId);
+        return toBookingRsDtos(findUserBookingsByState(userId, status, pageRequestFactory.of(from, size)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingRsDto> getOwnerBookings(Long ownerId, BookingStatus status, int from, int size) {
+        userService.findById(ownerId);
+        return toBookingRsDtos(findOwnerBookingsByState(ownerId, status, pageRequestFactory.of(from, size)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookingPageDto getUserBookingsPage(Long userId, BookingStatus status, String cursor, int size) {
         userService.findById(userId);
-        return getUserBookingsByState(userId, status);
+        Pageable page = pageRequestFactory.of(0, size);
+        if (cursor == null || cursor.isBlank()) {
+            return toBookingPage(findUserBookingsByState(userId, status, page), page);
+        }
+        BookingCursor after = BookingCursor.decode(cursor);
+        List<Booking> bookings = status == BookingStatus.ALL
+                ? bookingRepository.findByBookerIdAfter(userId, after.start(), after.id(), page)
+                : bookingRepository.findByBookerIdAndStatusAfter(userId, status, after.start(), after.id(), page);
+        return toBookingPage(bookings, page);
     }
 
     @Override
-    public List<BookingRsDto> getOwnerBookings(Long ownerId, BookingStatus status) {
+    @Transactional(readOnly = true)
+    public BookingPageDto getOwnerBookingsPage(Long ownerId, BookingStatus status, String cursor, int size) {
         userService.findById(ownerId);
-        return getOwnerBookingsByState(ownerId, status);
+        Pageable page = pageRequestFactory.of(0, size);
+        if (cursor == null || cursor.isBlank()) {
+            return toBookingPage(findOwnerBookingsByState(ownerId, status, page), page);
+        }
+        BookingCursor after = BookingCursor.decode(cursor);
+        List<Booking> bookings = status == BookingStatus.ALL
+                ? bookingRepository.findByItemOwnerIdAfter(ownerId, after.start(), after.id(), page)
+                : bookingRepository.findByItemOwnerIdAndStatusAfter(ownerId, status, after.start(), after.id(), page);
+        return toBookingPage(bookings, page);
+    }
+
+    /**
+     * Пересечение с другим бронированием вещи отклоняет сама база: ограничение ex_bookings_item_period
+     * в PostgreSQL или CHECK-ограничение в H2, оба с SQLSTATE 23P01.
+     */
+    private static boolean isOverlap(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void notifyStatusChanged(Booking booking) {
+        statusNotifier.onStatusChanged(new BookingStatusEventDto(booking.getId(), booking.getItem().getId(),
+                booking.getStatus()), booking.getBooker().getId(), booking.getItem().getOwner().getId());
+    }
+
+    private static BookingApprovalResultDto toApprovalResult(Long bookingId, BookingApprovalCheck check,
+                                                             Long ownerId, BookingStatus updatedStatus) {
+        BookingApprovalResultDto.BookingApprovalResultDtoBuilder result = BookingApprovalResultDto.builder()
+                .bookingId(bookingId);
+        if (check == null) {
+            return result.outcome(Outcome.NOT_FOUND).build();
+        }
+        if (!check.ownerId().equals(ownerId)) {
+            return result.outcome(Outcome.FORBIDDEN).build();
+        }
+        if (updatedStatus != null) {
+            return result.outcome(Outcome.UPDATED).status(updatedStatus).build();
+        }
+        return result.outcome(Outcome.ALREADY_PROCESSED)
+                .status(check.status() == BookingStatus.WAITING ? null : check.status())
+                .build();
     }
 
-    private List<BookingRsDto> getUserBookingsByState(Long userId, BookingStatus status) {
-        List<Booking> bookings;
-        bookings = switch (status) {
-            case WAITING -> bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING);
-            case APPROVED -> bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.APPROVED);
-            case REJECTED -> bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED);
-            case CANCELLED -> bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.CANCELLED);
-            case ALL -> bookingRepository.findByBookerIdOrderByStartDesc(userId);
+    private List<Booking> findUserBookingsByState(Long userId, BookingStatus status, Pageable page) {
+        return switch (status) {
+            case WAITING -> bookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(userId, BookingStatus.WAITING, page);
+            case APPROVED -> bookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(userId, BookingStatus.APPROVED, page);
+            case REJECTED -> bookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(userId, BookingStatus.REJECTED, page);
+            case CANCELLED -> bookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(userId, BookingStatus.CANCELLED, page);
+            case ALL -> bookingRepository.findByBookerIdOrderByStartDescIdDesc(userId, page);
         };
-        return bookings.stream()
-                .map(bookingMapper::toBookingRsDto)
-                .collect(Collectors.toList());
     }
 
-    private List<BookingRsDto> getOwnerBookingsByState(Long ownerId, BookingStatus status) {
-        List<Booking> bookings;
-        bookings = switch (status) {
-            case WAITING -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(ownerId, BookingStatus.WAITING);
-            case APPROVED -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(ownerId, BookingStatus.APPROVED);
-            case REJECTED -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(ownerId, BookingStatus.REJECTED);
-            case CANCELLED -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(ownerId, BookingStatus.CANCELLED);
-            case ALL -> bookingRepository.findByItemOwnerIdOrderByStartDesc(ownerId);
+    private List<Booking> findOwnerBookingsByState(Long ownerId, BookingStatus status, Pageable page) {
+        return switch (status) {
+            case WAITING -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(ownerId, BookingStatus.WAITING, page);
+            case APPROVED -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(ownerId, BookingStatus.APPROVED, page);
+            case REJECTED -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(ownerId, BookingStatus.REJECTED, page);
+            case CANCELLED -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(ownerId, BookingStatus.CANCELLED, page);
+            case ALL -> bookingRepository.findByItemOwnerIdOrderByStartDescIdDesc(ownerId, page);
         };
+    }
+
+    private BookingPageDto toBookingPage(List<Booking> bookings, Pageable page) {
+        String nextCursor = bookings.size() < page.getPageSize()
+                ? null
+                : BookingCursor.of(bookings.getLast()).encode();
+        return BookingPageDto.builder()
+                .bookings(toBookingRsDtos(bookings))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private List<BookingRsDto> toBookingRsDtos(List<Booking> bookings) {
         return bookings.stream()
                 .map(bookingMapper::toBookingRsDto)
                 .collect(Collectors.toList());
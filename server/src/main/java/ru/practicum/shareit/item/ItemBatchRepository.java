@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item;
+
+import java.util.List;
+
+public interface ItemBatchRepository {
+
+    /**
+     * Вставляет вещи владельца одним пакетом JDBC в обход Hibernate.
+     *
+     * @return идентификаторы вставленных вещей в порядке переданного списка
+     */
+    List<Long> insertAll(Long ownerId, List<ItemDto> items);
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Пакетная вставка через JDBC: Hibernate не группирует INSERT для идентификаторов IDENTITY,
+ * а пакет JDBC отправляет их одной командой и возвращает сгенерированные ключи.
+ */
+@RequiredArgsConstructor
+class ItemBatchRepositoryImpl implements ItemBatchRepository {
+    private static final String INSERT_ITEM =
+            "INSERT INTO items (name, description, available, owner_id, request_id) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> insertAll(Long ownerId, List<ItemDto> items) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_ITEM, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        ItemDto item = items.get(i);
+                        statement.setString(1, item.getName());
+                        statement.setString(2, item.getDescription());
+                        statement.setBoolean(3, item.getAvailable());
+                        statement.setLong(4, ownerId);
+                        if (item.getRequestId() == null) {
+                            statement.setNull(5, Types.BIGINT);
+                        } else {
+                            statement.setLong(5, item.getRequestId());
+                        }
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return items.size();
+                    }
+                }, keyHolder);
+        return keyHolder.getKeyList().stream()
+                .map(ItemBatchRepositoryImpl::toId)
+                .toList();
+    }
+
+    private static Long toId(Map<String, Object> keys) {
+        return ((Number) keys.values().iterator().next()).longValue();
+    }
+}
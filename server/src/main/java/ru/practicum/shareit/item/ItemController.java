@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,16 +12,23 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.booking.dto.AvailabilityWindowDto;
 import ru.practicum.shareit.comment.CommentDto;
+import ru.practicum.shareit.item.importer.ItemImportResultDto;
+import ru.practicum.shareit.item.importer.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
 public class ItemController {
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
 
     private static final String HEADER_USER_ID = "X-Sharer-User-Id";
 
@@ -29,6 +38,18 @@ public class ItemController {
         return itemService.addItem(userId, itemDto);
     }
 
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ItemImportResultDto importItemsNdjson(@RequestHeader(HEADER_USER_ID) Long userId,
+                                                 InputStream body) {
+        return itemImportService.importNdjson(userId, body);
+    }
+
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ItemImportResultDto importItemsJson(@RequestHeader(HEADER_USER_ID) Long userId,
+                                               InputStream body) {
+        return itemImportService.importArray(userId, body);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@PathVariable Long itemId,
                               @RequestBody ItemDto itemDto,
@@ -43,13 +64,26 @@ public class ItemController {
     }
 
     @GetMapping
-    public Collection<ItemDto> getUserItems(@RequestHeader(HEADER_USER_ID) Long userId) {
-        return itemService.getUserItems(userId);
+    public Collection<ItemDto> getUserItems(@RequestHeader(HEADER_USER_ID) Long userId,
+                                            @RequestParam(name = "from", defaultValue = "0") int from,
+                                            @RequestParam(name = "size", defaultValue = "10") int size) {
+        return itemService.getUserItems(userId, from, size);
     }
 
     @GetMapping("/search")
-    public Collection<ItemDto> searchItems(@RequestParam String text) {
-        return itemService.searchItems(text);
+    public Collection<ItemDto> searchItems(@RequestParam String text,
+                                           @RequestParam(name = "from", defaultValue = "0") int from,
+                                           @RequestParam(name = "size", defaultValue = "10") int size) {
+        return itemService.searchItems(text, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public List<AvailabilityWindowDto> getAvailability(@PathVariable Long itemId,
+                                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                       LocalDateTime from,
+                                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                       LocalDateTime to) {
+        return itemService.getAvailability(itemId, from, to);
     }
 
     @PostMapping("/{itemId}/comment")
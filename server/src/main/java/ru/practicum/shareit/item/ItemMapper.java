@@ -1,5 +1,7 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.user.User;
+
 public class ItemMapper {
     public static ItemDto toItemDto(Item item) {
         return ItemDto.builder()
@@ -11,6 +13,21 @@ public class ItemMapper {
                 .build();
     }
 
+    public static ItemDto toItemDto(ItemView item) {
+        return ItemDto.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .owner(User.builder()
+                        .id(item.getOwnerId())
+                        .name(item.getOwnerName())
+                        .email(item.getOwnerEmail())
+                        .build())
+                .requestId(item.getRequestId())
+                .build();
+    }
+
     public static Item toItem(ItemDto itemDto) {
         return Item.builder()
                 .id(itemDto.getId())
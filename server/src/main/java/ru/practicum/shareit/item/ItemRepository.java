@@ -1,24 +1,80 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findAllByOwnerId(Long ownerId);
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemBatchRepository {
+    @Query("""
+            SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available,
+                   o.id AS ownerId, o.name AS ownerName, o.email AS ownerEmail, i.request.id AS requestId
+            FROM Item i
+            JOIN i.owner o
+            WHERE o.id = :ownerId
+            ORDER BY i.id
+            """)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<ItemView> findViewsByOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
 
-    List<Item> findByRequestIdIn(List<Long> requestIds);
+    @Query("""
+            SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available,
+                   o.id AS ownerId, o.name AS ownerName, o.email AS ownerEmail, i.request.id AS requestId
+            FROM Item i
+            JOIN i.owner o
+            WHERE i.request.id IN :requestIds
+            """)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<ItemView> findViewsByRequestIdIn(@Param("requestIds") List<Long> requestIds);
+
+    @Query("""
+            SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available,
+                   o.id AS ownerId, o.name AS ownerName, o.email AS ownerEmail, i.request.id AS requestId
+            FROM Item i
+            JOIN i.owner o
+            WHERE i.id IN :ids
+            """)
+    List<ItemView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT i.id FROM Item i WHERE i.owner.id = :ownerId")
+    List<Long> findIdsByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("""
+            SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available
+            FROM Item i
+            WHERE i.available = TRUE
+            """)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<ItemView> streamAvailableViews();
+
+    @Query(value = """
+            SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available,
+                   u.id AS ownerId, u.name AS ownerName, u.email AS ownerEmail, i.request_id AS requestId
+            FROM items i
+            JOIN users u ON u.id = i.owner_id
+            WHERE i.available = TRUE
+            AND items_search_vector(i.name, i.description) @@ to_tsquery('simple', :query)
+            ORDER BY ts_rank(items_search_vector(i.name, i.description), to_tsquery('simple', :query)) DESC, i.id
+            """, nativeQuery = true)
+    List<ItemView> searchAvailableByTsQuery(@Param("query") String query, Pageable pageable);
 
     @Query(value = """
-        SELECT * FROM items i
-        WHERE (i.name ILIKE :text
-        OR i.description ILIKE :text)
-        AND i.available = TRUE
-    """, nativeQuery = true)
-    Collection<Item> findAvailableItemsByNameOrDescription(@Param("text") String text);
-}
\ No newline at end of file
+            SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available,
+                   u.id AS ownerId, u.name AS ownerName, u.email AS ownerEmail, i.request_id AS requestId
+            FROM items i
+            JOIN users u ON u.id = i.owner_id
+            WHERE i.available = TRUE
+            AND REGEXP_LIKE(LOWER(CONCAT_WS(' ', i.name, i.description)), :pattern)
+            ORDER BY CASE WHEN REGEXP_LIKE(LOWER(i.name), :pattern) THEN 0 ELSE 1 END, i.id
+            """, nativeQuery = true)
+    List<ItemView> searchAvailableByPattern(@Param("pattern") String pattern, Pageable pageable);
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item;
+
+/**
+ * Проекция вещи для списков: только колонки, которые попадают в ответ, без загрузки сущностей.
+ */
+public interface ItemView {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getOwnerId();
+
+    String getOwnerName();
+
+    String getOwnerEmail();
+
+    Long getRequestId();
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.importer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemImportErrorDto {
+    private long row;
+    private String message;
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.item.importer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.util.exception.ConditionsNotMetException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Потоковое чтение вещей из NDJSON (по строке на вещь) или из массива JSON без загрузки тела целиком.
+ * Ошибка разбора одной строки NDJSON или одного элемента массива не прерывает чтение остальных;
+ * после синтаксической ошибки в массиве продолжить чтение нельзя.
+ */
+class ItemImportReader {
+    private final ObjectMapper objectMapper;
+
+    ItemImportReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    record Row(long number, ItemDto item, String error) {
+    }
+
+    void readNdjson(InputStream body, Consumer<Row> consumer) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        long number = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            number++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                consumer.accept(new Row(number, objectMapper.readValue(line, ItemDto.class), null));
+            } catch (JsonProcessingException e) {
+                consumer.accept(new Row(number, null, "Некорректный JSON: " + e.getOriginalMessage()));
+            }
+        }
+    }
+
+    void readArray(InputStream body, Consumer<Row> consumer) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new ConditionsNotMetException("Ожидается массив JSON с вещами");
+            }
+            long number = 0;
+            while (true) {
+                number++;
+                JsonNode node;
+                try {
+                    JsonToken token = parser.nextToken();
+                    if (token == JsonToken.END_ARRAY) {
+                        return;
+                    }
+                    if (token == null) {
+                        consumer.accept(new Row(number, null, "Массив JSON не закрыт"));
+                        return;
+                    }
+                    node = objectMapper.readTree(parser);
+                } catch (JsonProcessingException e) {
+                    consumer.accept(new Row(number, null, "Некорректный JSON: " + e.getOriginalMessage()));
+                    return;
+                }
+                try {
+                    consumer.accept(new Row(number, objectMapper.treeToValue(node, ItemDto.class), null));
+                } catch (JsonProcessingException e) {
+                    consumer.accept(new Row(number, null, "Некорректный JSON: " + e.getOriginalMessage()));
+                }
+            }
+        }
+    }
+}
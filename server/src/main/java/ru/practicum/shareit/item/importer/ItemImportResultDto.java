@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.importer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemImportResultDto {
+    private long imported;
+    private long failed;
+    private List<ItemImportErrorDto> errors;
+    /**
+     * Ошибка чтения тела запроса, если оно оборвалось до конца; строки после неё не обработаны.
+     */
+    private String readError;
+}
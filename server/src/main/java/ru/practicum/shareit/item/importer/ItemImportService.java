@@ -0,0 +1,223 @@
+package ru.practicum.shareit.item.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Массовая загрузка вещей владельца. Строки читаются потоком и вставляются пакетами JDBC, каждый пакет
+ * в своей транзакции, поэтому уже загруженные пакеты сохраняются, даже если последующие строки с ошибками.
+ * Ошибочные строки пропускаются и попадают в отчёт с номером строки. Если тело оборвалось на середине,
+ * строки, прочитанные целиком, сохраняются, а отчёт содержит ошибку чтения и номер последней строки.
+ */
+@Slf4j
+@Service
+public class ItemImportService {
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final UserService userService;
+    private final ItemSearchEngine itemSearchEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ItemImportReader reader;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public ItemImportService(ItemRepository itemRepository,
+                             ItemRequestRepository itemRequestRepository,
+                             UserService userService,
+                             ItemSearchEngine itemSearchEngine,
+                             TransactionTemplate transactionTemplate,
+                             EntityManagerFactory entityManagerFactory,
+                             ObjectMapper objectMapper,
+                             @Value("${shareit.item-import.batch-size:1000}") int batchSize,
+                             @Value("${shareit.item-import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.itemRepository = itemRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.userService = userService;
+        this.itemSearchEngine = itemSearchEngine;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.reader = new ItemImportReader(objectMapper);
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public ItemImportResultDto importNdjson(Long userId, InputStream body) {
+        userService.findById(userId);
+        Import anImport = new Import(userId);
+        try {
+            reader.readNdjson(body, anImport::accept);
+        } catch (IOException e) {
+            anImport.readFailed(e);
+        }
+        anImport.flush();
+        return anImport.result();
+    }
+
+    public ItemImportResultDto importArray(Long userId, InputStream body) {
+        userService.findById(userId);
+        Import anImport = new Import(userId);
+        try {
+            reader.readArray(body, anImport::accept);
+        } catch (IOException e) {
+            anImport.readFailed(e);
+        }
+        anImport.flush();
+        return anImport.result();
+    }
+
+    private static String validate(ItemDto item) {
+        if (item.getName() == null || item.getName().isBlank()) {
+            return "Название не должно быть пустым.";
+        }
+        if (item.getDescription() == null || item.getDescription().isBlank()) {
+            return "Описание не должно быть пустым.";
+        }
+        if (item.getAvailable() == null) {
+            return "Поле доступности не должно быть пустым.";
+        }
+        return null;
+    }
+
+    /**
+     * Состояние одной загрузки: накапливаемый пакет, счётчики и ошибки строк.
+     */
+    private class Import {
+        private final Long ownerId;
+        private final List<ItemImportReader.Row> batch = new ArrayList<>(batchSize);
+        private final List<ItemImportErrorDto> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+        private long lastRow;
+        private String readError;
+
+        Import(Long ownerId) {
+            this.ownerId = ownerId;
+        }
+
+        void accept(ItemImportReader.Row row) {
+            lastRow = row.number();
+            String error = row.error() != null ? row.error() : validate(row.item());
+            if (error != null) {
+                fail(row.number(), error);
+                return;
+            }
+            batch.add(row);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<ItemImportReader.Row> rows = withExistingRequests(batch);
+            batch.clear();
+            if (rows.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(rows));
+                imported += rows.size();
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Пакет из {} вещей владельца id={} не загружен, строки загружаются по одной",
+                        rows.size(), ownerId, e);
+                rows.forEach(this::insertSingle);
+            } finally {
+                entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictQueryRegions();
+            }
+        }
+
+        void readFailed(IOException e) {
+            log.warn("Чтение вещей владельца id={} оборвалось после строки {}", ownerId, lastRow, e);
+            readError = "Не удалось прочитать данные после строки " + lastRow + ": " + e.getMessage();
+        }
+
+        /**
+         * Повтор строки из отклонённого пакета отдельной транзакцией, чтобы в отчёт попали только
+         * строки, которые действительно нарушают ограничения.
+         */
+        private void insertSingle(ItemImportReader.Row row) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                imported++;
+            } catch (DataIntegrityViolationException e) {
+                fail(row.number(), "Вещь не сохранена: нарушена целостность данных");
+            }
+        }
+
+        /**
+         * Отбрасывает строки со ссылками на несуществующие запросы, проверяя все ссылки пакета одним запросом.
+         */
+        private List<ItemImportReader.Row> withExistingRequests(List<ItemImportReader.Row> rows) {
+            Set<Long> requestIds = rows.stream()
+                    .map(row -> row.item().getRequestId())
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            if (requestIds.isEmpty()) {
+                return List.copyOf(rows);
+            }
+            Set<Long> existingRequestIds = new HashSet<>(itemRequestRepository.findIdsByIdIn(requestIds));
+            List<ItemImportReader.Row> valid = new ArrayList<>(rows.size());
+            for (ItemImportReader.Row row : rows) {
+                Long requestId = row.item().getRequestId();
+                if (requestId != null && !existingRequestIds.contains(requestId)) {
+                    fail(row.number(), "Запрос с id=" + requestId + " не найден");
+                } else {
+                    valid.add(row);
+                }
+            }
+            return valid;
+        }
+
+        private void insert(List<ItemImportReader.Row> rows) {
+            List<Long> ids = itemRepository.insertAll(ownerId, rows.stream().map(ItemImportReader.Row::item).toList());
+            for (int i = 0; i < ids.size(); i++) {
+                ItemDto item = rows.get(i).item();
+                itemSearchEngine.index(Item.builder()
+                        .id(ids.get(i))
+                        .name(item.getName())
+                        .description(item.getDescription())
+                        .available(item.getAvailable())
+                        .build());
+            }
+        }
+
+        private void fail(long row, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(ItemImportErrorDto.builder().row(row).message(message).build());
+            }
+        }
+
+        ItemImportResultDto result() {
+            return ItemImportResultDto.builder()
+                    .imported(imported)
+                    .failed(failed)
+                    .errors(errors)
+                    .readError(readError)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemView;
+
+import java.util.List;
+
+/**
+ * Полнотекстовый поиск PostgreSQL по GIN-индексу {@code idx_items_search} с ранжированием по ts_rank.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "fulltext", matchIfMissing = true)
+public class FullTextItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<ItemView> search(SearchQuery query, Pageable pageable) {
+        return itemRepository.searchAvailableByTsQuery(query.toTsQuery(), pageable);
+    }
+}
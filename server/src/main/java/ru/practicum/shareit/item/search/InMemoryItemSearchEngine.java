@@ -0,0 +1,129 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Поиск по инвертированному индексу в памяти процесса для баз без полнотекстового поиска.
+ * Индекс строится из базы при старте и обновляется после фиксации транзакций, сохраняющих и удаляющих вещи.
+ * Перестроение собирает новый индекс рядом с действующим и подменяет его целиком; пока первый индекс
+ * не построен, поиск идёт по базе, как в {@link PatternItemSearchEngine}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+    private volatile InvertedIndex index;
+    /**
+     * Изменения, зафиксированные во время перестроения: после чтения базы они повторяются на новом индексе,
+     * чтобы подмена не потеряла их. {@code null}, пока перестроение не идёт. Доступ — под монитором движка.
+     */
+    private List<Consumer<InvertedIndex>> changesDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long startedAt = System.nanoTime();
+        InvertedIndex rebuilt = new InvertedIndex();
+        synchronized (this) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        try {
+            try (Stream<ItemView> items = itemRepository.streamAvailableViews()) {
+                items.forEach(item -> rebuilt.put(item.getId(), item.getName(), item.getDescription(), true));
+            }
+            synchronized (this) {
+                changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+                index = rebuilt;
+            }
+        } finally {
+            synchronized (this) {
+                changesDuringRebuild = null;
+            }
+        }
+        log.info("Поисковый индекс построен: {} вещей за {} мс", rebuilt.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    @Override
+    public List<ItemView> search(SearchQuery query, Pageable pageable) {
+        InvertedIndex current = index;
+        if (current == null) {
+            return itemRepository.searchAvailableByPattern(query.toPattern(), pageable);
+        }
+        List<Long> ids = Arrays.stream(current.search(query))
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .boxed()
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ItemView> items = itemRepository.findViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(ItemView::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public void index(Item item) {
+        long id = item.getId();
+        String name = item.getName();
+        String description = item.getDescription();
+        boolean available = item.isAvailable();
+        afterCommit(target -> target.put(id, name, description, available));
+    }
+
+    @Override
+    public void remove(Collection<Long> itemIds) {
+        List<Long> ids = List.copyOf(itemIds);
+        afterCommit(target -> ids.forEach(target::remove));
+    }
+
+    private void afterCommit(Consumer<InvertedIndex> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private synchronized void apply(Consumer<InvertedIndex> change) {
+        if (index != null) {
+            change.accept(index);
+        }
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс вещей в памяти: для каждого слова хранится отсортированный массив идентификаторов.
+ * Слова лежат в отсортированном словаре, поэтому поиск по префиксу — это обход диапазона ключей.
+ * Слова названия индексируются отдельно, чтобы совпадения в названии поднимать выше. Документ хранит
+ * ссылки на списки своих слов, чтобы при удалении не искать их в словаре и не держать копии строк.
+ */
+class InvertedIndex {
+    private final NavigableMap<String, Postings> textTerms = new TreeMap<>();
+    private final NavigableMap<String, Postings> nameTerms = new TreeMap<>();
+    private final Documents documents = new Documents();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Добавляет или заменяет вещь в индексе. Недоступные вещи из индекса удаляются.
+     */
+    void put(long id, String name, String description, boolean available) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            if (!available) {
+                return;
+            }
+            List<String> nameTokens = SearchQuery.parse(nullToEmpty(name)).tokens();
+            List<String> textTokens = SearchQuery.parse(nullToEmpty(name) + " " + nullToEmpty(description)).tokens();
+            Postings[] postings = new Postings[nameTokens.size() + textTokens.size()];
+            int size = 0;
+            for (String token : nameTokens) {
+                postings[size++] = addPosting(nameTerms, token, id);
+            }
+            for (String token : textTokens) {
+                postings[size++] = addPosting(textTerms, token, id);
+            }
+            documents.put(id, new Document(postings, nameTokens.size()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Идентификаторы вещей, содержащих все слова запроса как префиксы. Первыми идут вещи,
+     * у которых больше слов найдено в названии, при равенстве — по возрастанию id.
+     */
+    long[] search(SearchQuery query) {
+        if (query.isEmpty()) {
+            return new long[0];
+        }
+        lock.readLock().lock();
+        try {
+            long[] matches = null;
+            long[][] nameMatches = new long[query.tokens().size()][];
+            for (int i = 0; i < query.tokens().size(); i++) {
+                String token = query.tokens().get(i);
+                long[] tokenMatches = prefixUnion(textTerms, token);
+                matches = matches == null ? tokenMatches : intersect(matches, tokenMatches);
+                if (matches.length == 0) {
+                    return new long[0];
+                }
+                nameMatches[i] = prefixUnion(nameTerms, token);
+            }
+            return rank(matches, nameMatches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeDocument(long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        Postings[] postings = document.postings();
+        for (int i = 0; i < postings.length; i++) {
+            NavigableMap<String, Postings> terms = i < document.nameCount() ? nameTerms : textTerms;
+            if (postings[i].remove(id) && postings[i].isEmpty()) {
+                terms.remove(postings[i].term, postings[i]);
+            }
+        }
+    }
+
+    private static Postings addPosting(NavigableMap<String, Postings> terms, String token, long id) {
+        Postings postings = terms.computeIfAbsent(token, Postings::new);
+        postings.add(id);
+        return postings;
+    }
+
+    /**
+     * Объединение списков всех слов с префиксом: списки копируются в один массив, который сортируется
+     * один раз, а повторы удаляются за один проход.
+     */
+    private static long[] prefixUnion(NavigableMap<String, Postings> terms, String prefix) {
+        Collection<Postings> matching = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+        if (matching.isEmpty()) {
+            return new long[0];
+        }
+        if (matching.size() == 1) {
+            return matching.iterator().next().toArray();
+        }
+        List<Postings> lists = new ArrayList<>(matching);
+        int total = 0;
+        for (Postings postings : lists) {
+            total += postings.size;
+        }
+        long[] union = new long[total];
+        int offset = 0;
+        for (Postings postings : lists) {
+            System.arraycopy(postings.ids, 0, union, offset, postings.size);
+            offset += postings.size;
+        }
+        Arrays.sort(union);
+        int size = 0;
+        for (int i = 0; i < union.length; i++) {
+            if (size == 0 || union[size - 1] != union[i]) {
+                union[size++] = union[i];
+            }
+        }
+        return Arrays.copyOf(union, size);
+    }
+
+    /**
+     * Устойчивая сортировка подсчётом по числу слов, найденных в названии: внутри одной оценки
+     * сохраняется порядок возрастания id из {@code matches}.
+     */
+    private static long[] rank(long[] matches, long[][] nameMatches) {
+        int tokens = nameMatches.length;
+        int[] misses = new int[matches.length];
+        int[] starts = new int[tokens + 2];
+        for (int i = 0; i < matches.length; i++) {
+            int score = 0;
+            for (long[] names : nameMatches) {
+                if (Arrays.binarySearch(names, matches[i]) >= 0) {
+                    score++;
+                }
+            }
+            misses[i] = tokens - score;
+            starts[misses[i] + 1]++;
+        }
+        for (int i = 1; i < starts.length; i++) {
+            starts[i] += starts[i - 1];
+        }
+        long[] ranked = new long[matches.length];
+        for (int i = 0; i < matches.length; i++) {
+            ranked[starts[misses[i]]++] = matches[i];
+        }
+        return ranked;
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Списки слов документа: сначала {@code nameCount} списков из словаря названий, затем из общего словаря.
+     */
+    private record Document(Postings[] postings, int nameCount) {
+    }
+
+    /**
+     * Документы по id в открытой адресации с линейным пробированием, без упаковки ключей в {@link Long}.
+     */
+    private static final class Documents {
+        private long[] ids = new long[16];
+        private Document[] values = new Document[16];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void put(long id, Document document) {
+            if ((size + 1) * 2 > values.length) {
+                resize();
+            }
+            int slot = slot(id);
+            if (values[slot] == null) {
+                size++;
+            }
+            ids[slot] = id;
+            values[slot] = document;
+        }
+
+        Document remove(long id) {
+            int slot = slot(id);
+            Document removed = values[slot];
+            if (removed == null) {
+                return null;
+            }
+            // Сдвиг назад: следующие записи цепочки переезжают в освободившуюся ячейку, если могут там стоять.
+            int mask = values.length - 1;
+            int hole = slot;
+            for (int next = (hole + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+                int home = home(ids[next], mask);
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    ids[hole] = ids[next];
+                    values[hole] = values[next];
+                    hole = next;
+                }
+            }
+            values[hole] = null;
+            size--;
+            return removed;
+        }
+
+        private int slot(long id) {
+            int mask = values.length - 1;
+            int slot = home(id, mask);
+            while (values[slot] != null && ids[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void resize() {
+            long[] oldIds = ids;
+            Document[] oldValues = values;
+            ids = new long[oldIds.length * 2];
+            values = new Document[oldValues.length * 2];
+            size = 0;
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] != null) {
+                    put(oldIds[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int home(long id, int mask) {
+            long hash = id * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+
+    /**
+     * Отсортированный по возрастанию массив идентификаторов слова с запасом по ёмкости. Слово — тот же
+     * объект, что ключ в словаре.
+     */
+    private static final class Postings {
+        private final String term;
+        private long[] ids = new long[4];
+        private int size;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        void add(long id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int position = Arrays.binarySearch(ids, 0, size, id);
+                if (position >= 0) {
+                    return;
+                }
+                insert(-position - 1, id);
+                return;
+            }
+            insert(size, id);
+        }
+
+        boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        private void insert(int position, long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+    }
+}
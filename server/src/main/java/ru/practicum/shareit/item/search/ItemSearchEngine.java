@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemView;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Поиск доступных вещей по названию и описанию. Реализация выбирается свойством {@code shareit.search.engine}.
+ */
+public interface ItemSearchEngine {
+    /**
+     * Возвращает доступные вещи, содержащие все слова запроса (в том числе как префиксы), от более релевантных к менее.
+     */
+    List<ItemView> search(SearchQuery query, Pageable pageable);
+
+    /**
+     * Сообщает о добавленной или изменённой вещи. Движкам поверх базы данных ничего делать не нужно.
+     */
+    default void index(Item item) {
+    }
+
+    /**
+     * Сообщает об удалённых вещах, в том числе удалённых каскадно вместе с владельцем.
+     */
+    default void remove(Collection<Long> itemIds) {
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemView;
+
+import java.util.List;
+
+/**
+ * Поиск по регулярному выражению без индекса для баз без полнотекстового поиска (H2 в тестах).
+ * Вещи, у которых все слова найдены в названии, идут первыми.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "pattern")
+public class PatternItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<ItemView> search(SearchQuery query, Pageable pageable) {
+        return itemRepository.searchAvailableByPattern(query.toPattern(), pageable);
+    }
+}
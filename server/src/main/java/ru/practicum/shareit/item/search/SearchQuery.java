@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Поисковый запрос, разбитый на слова в нижнем регистре. Всё, кроме букв и цифр, считается разделителем.
+ */
+public record SearchQuery(List<String> tokens) {
+    private static final String SEPARATORS = "[^\\p{L}\\p{N}]+";
+
+    public static SearchQuery parse(String text) {
+        return new SearchQuery(Arrays.stream(text.toLowerCase(Locale.ROOT).split(SEPARATORS))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList());
+    }
+
+    public boolean isEmpty() {
+        return tokens.isEmpty();
+    }
+
+    /**
+     * Запрос PostgreSQL tsquery: все слова обязательны, каждое ищется как префикс.
+     */
+    public String toTsQuery() {
+        return tokens.stream()
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    /**
+     * Регулярное выражение, которое совпадает с текстом, содержащим все слова запроса в любом порядке.
+     * Как и в {@link #toTsQuery()}, слово запроса должно быть началом слова текста, а не любой его частью.
+     */
+    public String toPattern() {
+        return tokens.stream()
+                .map(token -> "(?=.*(?<![\\p{L}\\p{N}])\\Q" + token + "\\E)")
+                .collect(Collectors.joining("", "(?s)", ".*"));
+    }
+}
@@ -1,9 +1,12 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.booking.dto.AvailabilityWindowDto;
 import ru.practicum.shareit.comment.CommentDto;
 import ru.practicum.shareit.item.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 public interface ItemService {
     ItemDto addItem(Long userId, ItemDto itemDto);
@@ -12,9 +15,11 @@ public interface ItemService {
 
     ItemDto getItemById(Long itemId);
 
-    Collection<ItemDto> getUserItems(Long userId);
+    Collection<ItemDto> getUserItems(Long userId, int from, int size);
 
-    Collection<ItemDto> searchItems(String text);
+    Collection<ItemDto> searchItems(String text, int from, int size);
+
+    List<AvailabilityWindowDto> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
 
     CommentDto addComment(Long itemId, Long userId, CommentDto commentDto);
 }
\ No newline at end of file
@@ -1,10 +1,12 @@
 package ru.practicum.shareit.item.service;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.booking.model.Booking;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityEngine;
+import ru.practicum.shareit.booking.dto.AvailabilityWindowDto;
+import ru.practicum.shareit.booking.dto.BookingDates;
 import ru.practicum.shareit.comment.CommentDto;
 import ru.practicum.shareit.comment.CommentMapper;
 import ru.practicum.shareit.comment.Comment;
@@ -13,6 +15,9 @@ import ru.practicum.shareit.item.ItemDto;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemView;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.SearchQuery;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
@@ -20,12 +25,14 @@ import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.util.exception.ConditionsNotMetException;
 import ru.practicum.shareit.util.exception.NotFoundException;
 import ru.practicum.shareit.util.exception.UnauthorizedException;
+import ru.practicum.shareit.util.pagination.PageRequestFactory;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,6 +44,9 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final PageRequestFactory pageRequestFactory;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemAvailabilityEngine availabilityEngine;
 
     @Override
     public ItemDto addItem(Long userId, ItemDto itemDto) {
@@ -44,12 +54,12 @@ public class ItemServiceImpl implements ItemService {
         Item item = ItemMapper.toItem(itemDto);
         item.setOwner(owner);
         if (Objects.isNull(itemDto.getRequestId())) {
-            return ItemMapper.toItemDto(itemRepository.save(item));
+            return ItemMapper.toItemDto(saveAndIndex(item));
         }
         ItemRequest itemRequest = itemRequestRepository.findById(itemDto.getRequestId())
                 .orElseThrow(() -> new NotFoundException("Запрос с id=" + itemDto.getRequestId() + " не найден"));
         item.setRequest(itemRequest);
-        ItemDto itemDtoForRs = ItemMapper.toItemDto(itemRepository.save(item));
+        ItemDto itemDtoForRs = ItemMapper.toItemDto(saveAndIndex(item));
         itemDtoForRs.setRequestId(itemRequest.getId());
         return itemDtoForRs;
     }
@@ -65,10 +75,11 @@ public class ItemServiceImpl implements ItemService {
         if (Objects.nonNull(itemDto.getDescription())) existingItem.setDescription(itemDto.getDescription());
         if (Objects.nonNull(itemDto.getAvailable())) existingItem.setAvailable(itemDto.getAvailable());
 
-        return ItemMapper.toItemDto(itemRepository.save(existingItem));
+        return ItemMapper.toItemDto(saveAndIndex(existingItem));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemDto getItemById(Long itemId) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Вещь с id=" + itemId + " не найдена"));
@@ -83,35 +94,46 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public Collection<ItemDto> searchItems(String text) {
-        if (text.isBlank()) return List.of();
-        return itemRepository.findAvailableItemsByNameOrDescription(text)
+    @Transactional(readOnly = true)
+    public Collection<ItemDto> searchItems(String text, int from, int size) {
+        SearchQuery query = SearchQuery.parse(text);
+        if (query.isEmpty()) return List.of();
+        return itemSearchEngine.search(query, pageRequestFactory.of(from, size))
                 .stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public Collection<ItemDto> getUserItems(Long userId) {
-        List<Item> items = itemRepository.findAllByOwnerId(userId);
+    @Transactional(readOnly = true)
+    public List<AvailabilityWindowDto> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new ConditionsNotMetException("Начало периода должно быть раньше окончания");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Вещь с id=" + itemId + " не найдена");
+        }
+        return availabilityEngine.getFreeWindows(itemId, from, to);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Collection<ItemDto> getUserItems(Long userId, int from, int size) {
+        List<ItemView> items = itemRepository.findViewsByOwnerId(userId, pageRequestFactory.of(from, size));
         List<Long> itemIds = items.stream()
-                .map(Item::getId)
+                .map(ItemView::getId)
                 .collect(Collectors.toList());
-        Map<Long, Booking> lastBookingsMap = bookingRepository.findLastBookingsByItemIds(itemIds, LocalDateTime.now())
-                .stream()
-                .collect(Collectors.toMap(booking -> booking.getItem().getId(), booking -> booking));
-        Map<Long, Booking> nextBookingsMap = bookingRepository.findNextBookingsByItemIds(itemIds, LocalDateTime.now())
+        Map<Long, BookingDates> bookingDates = bookingRepository.findBookingDatesByItemIds(itemIds, LocalDateTime.now())
                 .stream()
-                .collect(Collectors.toMap(booking -> booking.getItem().getId(), booking -> booking));
+                .collect(Collectors.toMap(BookingDates::itemId, Function.identity()));
         return items.stream()
                 .map(item -> {
                     ItemDto itemDto = ItemMapper.toItemDto(item);
-                    itemDto.setLastBooking(lastBookingsMap.getOrDefault(item.getId(), null) != null
-                            ? lastBookingsMap.get(item.getId()).getStart()
-                            : null);
-                    itemDto.setNextBooking(nextBookingsMap.getOrDefault(item.getId(), null) != null
-                            ? nextBookingsMap.get(item.getId()).getStart()
-                            : null);
+                    BookingDates dates = bookingDates.get(item.getId());
+                    if (dates != null) {
+                        itemDto.setLastBooking(dates.lastBooking());
+                        itemDto.setNextBooking(dates.nextBooking());
+                    }
                     return itemDto;
                 })
                 .collect(Collectors.toList());
@@ -130,4 +152,10 @@ public class ItemServiceImpl implements ItemService {
         comment.setCreated(LocalDateTime.now());
         return CommentMapper.toCommentDto(commentRepository.save(comment));
     }
+
+    private Item saveAndIndex(Item item) {
+        Item savedItem = itemRepository.save(item);
+        itemSearchEngine.index(savedItem);
+        return savedItem;
+    }
 }
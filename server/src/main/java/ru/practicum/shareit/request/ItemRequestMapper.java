@@ -10,6 +10,15 @@ public class ItemRequestMapper {
                 .build();
     }
 
+    public static ItemRequestDto toItemRequestDto(ItemRequestView itemRequest) {
+        return ItemRequestDto.builder()
+                .id(itemRequest.getId())
+                .description(itemRequest.getDescription())
+                .created(itemRequest.getCreated())
+                .requesterId(itemRequest.getRequesterId())
+                .build();
+    }
+
     public static ItemRequest toItemRequest(ItemRequestDto itemRequestDto) {
         return ItemRequest.builder()
                 .id(itemRequestDto.getId())
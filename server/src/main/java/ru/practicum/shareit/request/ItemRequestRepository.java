@@ -1,11 +1,34 @@
 package ru.practicum.shareit.request;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    List<ItemRequest> findByRequesterIdOrderByTimestampDesc(Long requesterId);
+    @Query("""
+            SELECT r.id AS id, r.description AS description, r.requester.id AS requesterId, r.timestamp AS created
+            FROM ItemRequest r
+            WHERE r.requester.id = :requesterId
+            ORDER BY r.timestamp DESC
+            """)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<ItemRequestView> findViewsByRequesterId(@Param("requesterId") Long requesterId);
 
-    List<ItemRequest> findByRequesterIdNotOrderByTimestampDesc(Long requesterId);
-}
\ No newline at end of file
+    @Query("""
+            SELECT r.id AS id, r.description AS description, r.requester.id AS requesterId, r.timestamp AS created
+            FROM ItemRequest r
+            WHERE r.requester.id <> :requesterId
+            ORDER BY r.timestamp DESC
+            """)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<ItemRequestView> findViewsByRequesterIdNot(@Param("requesterId") Long requesterId);
+
+    @Query("SELECT r.id FROM ItemRequest r WHERE r.id IN :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+}
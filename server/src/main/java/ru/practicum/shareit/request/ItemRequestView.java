@@ -0,0 +1,16 @@
+package ru.practicum.shareit.request;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция запроса вещи для списков: только колонки, которые попадают в ответ.
+ */
+public interface ItemRequestView {
+    Long getId();
+
+    String getDescription();
+
+    Long getRequesterId();
+
+    LocalDateTime getCreated();
+}
@@ -1,15 +1,17 @@
 package ru.practicum.shareit.request.service;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.ItemDto;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemView;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestDto;
 import ru.practicum.shareit.request.ItemRequestMapper;
 import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.ItemRequestView;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.util.exception.NotFoundException;
@@ -37,18 +39,19 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getUserRequests(Long userId) {
         userService.findById(userId);
-        List<ItemRequest> requests = requestRepository.findByRequesterIdOrderByTimestampDesc(userId);
+        List<ItemRequestView> requests = requestRepository.findViewsByRequesterId(userId);
         return requestsWithItems(requests);
     }
 
-    private List<ItemRequestDto> requestsWithItems(List<ItemRequest> requests) {
-        List<Long> requestIds = requests.stream().map(ItemRequest::getId).toList();
-        Map<Long, List<ItemDto>> itemsByRequest = itemRepository.findByRequestIdIn(requestIds)
+    private List<ItemRequestDto> requestsWithItems(List<ItemRequestView> requests) {
+        List<Long> requestIds = requests.stream().map(ItemRequestView::getId).toList();
+        Map<Long, List<ItemDto>> itemsByRequest = itemRepository.findViewsByRequestIdIn(requestIds)
                 .stream()
                 .collect(Collectors.groupingBy(
-                        item -> item.getRequest().getId(),
+                        ItemView::getRequestId,
                         Collectors.mapping(ItemMapper::toItemDto, Collectors.toList())
                 ));
         return requests.stream()
@@ -56,30 +59,34 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .collect(Collectors.toList());
     }
 
-    private ItemRequestDto toItemRequestDtoWithItems(ItemRequest request, List<ItemDto> items) {
+    private ItemRequestDto toItemRequestDtoWithItems(ItemRequestView request, List<ItemDto> items) {
         ItemRequestDto itemRequestDto = ItemRequestMapper.toItemRequestDto(request);
         itemRequestDto.setItems(items);
         return itemRequestDto;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getAllRequests(Long userId) {
         userService.findById(userId);
-        return requestRepository.findByRequesterIdNotOrderByTimestampDesc(userId)
+        return requestRepository.findViewsByRequesterIdNot(userId)
                 .stream()
                 .map(ItemRequestMapper::toItemRequestDto)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemRequestDto getRequestById(Long userId, Long requestId) {
         userService.findById(userId);
         ItemRequest request = requestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("Запрос с id=" + requestId + " не найден."));
-        List<ItemDto> items = itemRepository.findByRequestIdIn(List.of(requestId))
+        List<ItemDto> items = itemRepository.findViewsByRequestIdIn(List.of(requestId))
                 .stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
-        return toItemRequestDtoWithItems(request, items);
+        ItemRequestDto itemRequestDto = ItemRequestMapper.toItemRequestDto(request);
+        itemRequestDto.setItems(items);
+        return itemRequestDto;
     }
 }
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.user;
+
+/**
+ * Неизменяемая копия пользователя в кеше {@link UserService#USERS_CACHE}.
+ */
+record CachedUser(Long id, String name, String email) {
+    static CachedUser of(User user) {
+        return new CachedUser(user.getId(), user.getName(), user.getEmail());
+    }
+
+    User toUser() {
+        return User.builder()
+                .id(id)
+                .name(name)
+                .email(email)
+                .build();
+    }
+}
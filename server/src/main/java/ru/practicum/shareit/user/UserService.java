@@ -1,13 +1,24 @@
 package ru.practicum.shareit.user;
 
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityEngine;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.util.exception.DataConflictException;
 import ru.practicum.shareit.util.exception.NotFoundException;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 
 @Service
@@ -15,13 +26,38 @@ import java.util.Objects;
 @RequiredArgsConstructor
 @Transactional
 public class UserService {
+    public static final String USERS_CACHE = "users";
+
     private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ItemRepository itemRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemAvailabilityEngine availabilityEngine;
 
+    /**
+     * Пользователь по id. В кеше лежит неизменяемая копия, и каждый вызов возвращает новый объект,
+     * не привязанный к текущей сессии.
+     * <p>
+     * Этот кеш и регион {@code users} кеша второго уровня Hibernate не дублируют друг друга по назначению.
+     * Здесь кешируется проверка пользователя в начале почти каждого метода сервисов: попадание не открывает
+     * сессию и не берёт соединение, а метрики {@code cache.gets} видны без статистики Hibernate. Регион
+     * {@code users} обслуживает загрузку пользователя через связи ({@code item.owner}, {@code booking.booker})
+     * и запрос по email, которые мимо этого метода. Промах здесь обычно попадает в регион Hibernate,
+     * поэтому база читается не больше одного раза на оба кеша.
+     */
+    @Transactional(readOnly = true)
     public User findById(Long id) {
-        return userRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id=" + id + " не найден."));
+        Cache users = cacheManager.getCache(USERS_CACHE);
+        CachedUser cached = users.get(id, CachedUser.class);
+        if (cached == null) {
+            cached = CachedUser.of(loadUser(id));
+            users.put(id, cached);
+        }
+        return cached.toUser();
     }
 
+    @Transactional(readOnly = true)
     public Collection<User> findAll() {
         return userRepository.findAll();
     }
@@ -33,7 +69,8 @@ public class UserService {
     }
 
     public User partialUpdate(User updates) {
-        User existingUser = findById(updates.getId());
+        User existingUser = loadUser(updates.getId());
+        evictAfterCommit(updates.getId());
 
         if (updates.getEmail() != null && !updates.getEmail().isBlank()) {
             checkEmailConflict(updates);
@@ -49,7 +86,46 @@ public class UserService {
 
     public void delete(long id) {
         checkUser(id);
+        evictAfterCommit(id);
+        List<Long> itemIds = itemRepository.findIdsByOwnerId(id);
+        availabilityEngine.onUserDeleted(id, itemIds);
         userRepository.deleteById(id);
+        evictCascadedEntities();
+        itemSearchEngine.remove(itemIds);
+    }
+
+    /**
+     * Пользователь убирается из кеша после фиксации транзакции: при удалении до фиксации параллельный
+     * {@link #findById} успел бы снова положить в кеш ещё не удалённого пользователя.
+     */
+    private void evictAfterCommit(Long id) {
+        Cache users = cacheManager.getCache(USERS_CACHE);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            users.evict(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                users.evict(id);
+            }
+        });
+    }
+
+    /**
+     * Вещи и запросы пользователя удаляются каскадно в базе, минуя Hibernate, поэтому их регионы
+     * и кеш запросов очищаются вручную.
+     */
+    private void evictCascadedEntities() {
+        jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+        cache.evict(Item.class);
+        cache.evict(ItemRequest.class);
+        cache.unwrap(org.hibernate.Cache.class).evictQueryRegions();
+    }
+
+    private User loadUser(Long id) {
+        return userRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Пользователь с id=" + id + " не найден."));
     }
 
     private void setNameByLoginIfNameIsNull(User user) {
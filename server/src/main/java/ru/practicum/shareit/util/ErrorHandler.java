@@ -1,14 +1,21 @@
 package ru.practicum.shareit.util;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.catalina.connector.ClientAbortException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
 import ru.practicum.shareit.util.exception.ConditionsNotMetException;
 import ru.practicum.shareit.util.exception.DataConflictException;
 import ru.practicum.shareit.util.exception.NotFoundException;
+import ru.practicum.shareit.util.exception.PayloadTooLargeException;
+import ru.practicum.shareit.util.exception.ServiceUnavailableException;
 import ru.practicum.shareit.util.exception.UnauthorizedException;
 
 import java.util.HashMap;
@@ -59,13 +66,58 @@ public class ErrorHandler {
         return Map.of("error", ex.getMessage());
     }
 
+    /**
+     * Отказ в подписке на события бронирований при исчерпании лимита соединений.
+     * JSON указан явно, иначе ответ на запрос с {@code Accept: text/event-stream} не сериализуется.
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        log.warn("Сервис перегружен: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(PayloadTooLargeException.class)
+    public ResponseEntity<Map<String, String>> handlePayloadTooLargeException(PayloadTooLargeException ex) {
+        log.warn("Слишком большое тело запроса: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    /**
+     * Spring оборачивает ошибку чтения тела в это исключение; прочие ошибки разбора остаются ошибками 500.
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Map<String, String>> handleHttpMessageNotReadableException(
+            HttpMessageNotReadableException ex) {
+        if (ex.getCause() instanceof PayloadTooLargeException tooLarge) {
+            return handlePayloadTooLargeException(tooLarge);
+        }
+        return handleOtherExceptions(ex);
+    }
+
+    /**
+     * Клиент закрыл соединение, пока сервер писал поток событий или выгрузку бронирований: отвечать
+     * уже некому. Остальные {@link java.io.IOException} доходят до обработчика ошибок 500.
+     */
+    @ExceptionHandler({AsyncRequestNotUsableException.class, ClientAbortException.class})
+    public void handleClientDisconnect(Exception ex) {
+        log.debug("Клиент отключился: {}", ex.getMessage());
+    }
+
+    /**
+     * JSON указан явно: ошибка может возникнуть и в потоковом ответе, где тип ответа уже выбран.
+     */
     @ExceptionHandler(Exception.class)
-    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-    public Map<String, String> handleOtherExceptions(Exception ex) {
+    public ResponseEntity<Map<String, String>> handleOtherExceptions(Exception ex) {
         log.error("Неожиданная ошибка", ex);
-        return Map.of(
-                "error", "Произошла непредвиденная ошибка.",
-                "details", ex.getMessage()
-        );
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of(
+                        "error", "Произошла непредвиденная ошибка.",
+                        "details", ex.getMessage()
+                ));
     }
 }
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.util.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Кеш второго уровня Hibernate на Caffeine в памяти процесса. Регионы создаются заранее с ограничением
+ * по размеру и времени жизни из {@link EntityCacheProperties}; неописанный регион считается ошибкой конфигурации.
+ * Попадания и промахи регионов публикуются как метрики {@code cache.*} из статистики самих кешей JCache:
+ * общая статистика Hibernate ({@code hibernate.generate_statistics}) для этого не нужна и по умолчанию выключена.
+ */
+@Configuration
+@EnableConfigurationProperties(EntityCacheProperties.class)
+public class EntityCacheConfig {
+
+    @Bean
+    public CacheManager entityCacheManager(EntityCacheProperties properties) {
+        CaffeineCachingProvider provider = (CaffeineCachingProvider) Caching.getCachingProvider(
+                CaffeineCachingProvider.class.getName());
+        // Свой менеджер на каждый контекст: иначе контексты в одной JVM (тесты) делили бы регионы.
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("shareit-entity-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        properties.regions().forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(region.maxSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(region.ttl().toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(name, configuration);
+        });
+        // Метки обновления таблиц не должны вытесняться, иначе кеш запросов вернёт устаревшие результаты.
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+
+    /**
+     * Метка {@code cache.manager} отличает регионы от одноимённых кешей Spring ({@code users}).
+     */
+    @Bean
+    public MeterBinder entityCacheMetrics(CacheManager entityCacheManager, EntityCacheProperties properties) {
+        return registry -> properties.regions().keySet().forEach(name ->
+                JCacheMetrics.monitor(registry, entityCacheManager.getCache(name),
+                        "cache.manager", "entityCacheManager"));
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.util.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Регионы кеша второго уровня Hibernate: максимальное число записей и время жизни записи для каждого региона.
+ */
+@ConfigurationProperties("shareit.entity-cache")
+public record EntityCacheProperties(Map<String, Region> regions) {
+    public EntityCacheProperties {
+        regions = regions == null ? Map.of() : Map.copyOf(regions);
+    }
+
+    public record Region(long maxSize, Duration ttl) {
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.util.exception;
+
+import java.io.IOException;
+
+/**
+ * Тело запроса больше допустимого. Это {@link IOException}, потому что возникает при чтении тела:
+ * читатели потока обрабатывают его как обрыв тела.
+ */
+public class PayloadTooLargeException extends IOException {
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.util.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Аналог ограничения ex_bookings_item_period из PostgreSQL для H2, где нет исключающих ограничений.
+ * Миграция h2/V6 объявляет метод функцией H2 и вызывает её из CHECK-ограничения, поэтому проверка
+ * срабатывает и на вставке, и на изменении бронирования. Класс использует только JDBC и не требует H2
+ * при компиляции. Блокирует строку вещи, чтобы параллельные изменения бронирований одной вещи
+ * проверялись по очереди, и при пересечении с другим ожидающим или подтверждённым бронированием
+ * возвращает тот же SQLSTATE 23P01.
+ */
+public final class H2BookingOverlapCheck {
+
+    private H2BookingOverlapCheck() {
+    }
+
+    public static boolean noOverlap(Connection connection, Long id, Long itemId, Timestamp start, Timestamp end,
+                                    String status) throws SQLException {
+        if (start == null || end == null || !("WAITING".equals(status) || "APPROVED".equals(status))) {
+            return true;
+        }
+        try (PreparedStatement lock = connection.prepareStatement("SELECT id FROM items WHERE id = ? FOR UPDATE")) {
+            lock.setObject(1, itemId);
+            lock.executeQuery().close();
+        }
+        try (PreparedStatement overlap = connection.prepareStatement(
+                "SELECT 1 FROM bookings WHERE item_id = ? AND id <> ? AND status IN ('WAITING', 'APPROVED') "
+                        + "AND start_date < ? AND end_date > ? LIMIT 1")) {
+            overlap.setObject(1, itemId);
+            overlap.setObject(2, id);
+            overlap.setTimestamp(3, end);
+            overlap.setTimestamp(4, start);
+            try (ResultSet resultSet = overlap.executeQuery()) {
+                if (resultSet.next()) {
+                    throw new SQLException(
+                            "conflicting key value violates exclusion constraint \"ex_bookings_item_period\"", "23P01");
+                }
+            }
+        }
+        return true;
+    }
+}
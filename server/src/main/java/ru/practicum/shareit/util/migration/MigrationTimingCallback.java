@@ -0,0 +1,44 @@
+package ru.practicum.shareit.util.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.stereotype.Component;
+
+/**
+ * Логирует длительность каждой применённой миграции. Та же длительность сохраняется Flyway
+ * в колонке execution_time таблицы flyway_schema_history.
+ */
+@Component
+@Slf4j
+public class MigrationTimingCallback implements Callback {
+    private long startedAt;
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.BEFORE_EACH_MIGRATE || event == Event.AFTER_EACH_MIGRATE;
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        if (event == Event.BEFORE_EACH_MIGRATE) {
+            startedAt = System.nanoTime();
+            return;
+        }
+        MigrationInfo migration = context.getMigrationInfo();
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+        log.info("Миграция V{} ({}) применена за {} мс", migration.getVersion(), migration.getDescription(), elapsedMs);
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "migration-timing";
+    }
+}
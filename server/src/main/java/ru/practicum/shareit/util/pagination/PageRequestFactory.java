@@ -0,0 +1,30 @@
+package ru.practicum.shareit.util.pagination;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.util.exception.ConditionsNotMetException;
+
+@Component
+public class PageRequestFactory {
+    private final int maxSize;
+
+    public PageRequestFactory(@Value("${shareit.pagination.max-size:100}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Pageable of(int from, int size) {
+        return of(from, size, Sort.unsorted());
+    }
+
+    public Pageable of(int from, int size, Sort sort) {
+        if (from < 0) {
+            throw new ConditionsNotMetException("Параметр from не может быть отрицательным: " + from);
+        }
+        if (size <= 0) {
+            throw new ConditionsNotMetException("Параметр size должен быть положительным: " + size);
+        }
+        return new OffsetPageRequest(from, Math.min(size, maxSize), sort);
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.util.web;
+
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Лимиты HTTP/2 для шлюза. По умолчанию Tomcat разрешает 100 потоков на соединение и выполняет из них
+ * одновременно 20; шлюз мультиплексирует все свои запросы в одном-двух соединениях, поэтому лимиты подняты,
+ * а общее число одновременно выполняемых запросов по-прежнему ограничено пулом потоков Tomcat.
+ */
+@Configuration
+@ConditionalOnProperty(name = "server.http2.enabled", havingValue = "true")
+public class Http2ProtocolConfig {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> http2ProtocolCustomizer(
+            @Value("${shareit.http2.max-concurrent-streams:1000}") int maxConcurrentStreams,
+            @Value("${shareit.http2.max-concurrent-stream-execution:200}") int maxConcurrentStreamExecution) {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            for (UpgradeProtocol protocol : connector.findUpgradeProtocols()) {
+                if (protocol instanceof Http2Protocol http2Protocol) {
+                    http2Protocol.setMaxConcurrentStreams(maxConcurrentStreams);
+                    http2Protocol.setMaxConcurrentStreamExecution(maxConcurrentStreamExecution);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,181 @@
+package ru.practicum.shareit.util.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.util.exception.PayloadTooLargeException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Распаковывает тела запросов, сжатые шлюзом ({@code Content-Encoding: gzip} или {@code deflate}), потоком;
+ * тело больше {@code shareit.request-decompression.max-size} обрывается {@link PayloadTooLargeException}.
+ */
+@Slf4j
+@Component
+public class RequestDecompressionFilter extends OncePerRequestFilter {
+    private final long maxSize;
+
+    public RequestDecompressionFilter(@Value("${shareit.request-decompression.max-size:100MB}") DataSize maxSize) {
+        this.maxSize = maxSize.toBytes();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        if (encoding == null || encoding.isBlank() || encoding.equalsIgnoreCase("identity")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        InputStream body;
+        if (encoding.equalsIgnoreCase("gzip") || encoding.equalsIgnoreCase("x-gzip")) {
+            body = new GZIPInputStream(request.getInputStream());
+        } else if (encoding.equalsIgnoreCase("deflate")) {
+            body = new InflaterInputStream(request.getInputStream());
+        } else {
+            log.warn("Неподдерживаемое сжатие тела запроса: {}", encoding);
+            response.setStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("{\"error\":\"Неподдерживаемое сжатие тела запроса: " + encoding
+                    .replace("\"", "") + "\"}");
+            return;
+        }
+        filterChain.doFilter(new DecompressedRequest(request, new DecompressedInputStream(body, maxSize)), response);
+    }
+
+    private static final class DecompressedRequest extends HttpServletRequestWrapper {
+        private final ServletInputStream body;
+
+        DecompressedRequest(HttpServletRequest request, ServletInputStream body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return body;
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isHidden(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isHidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                    .filter(name -> !isHidden(name))
+                    .toList());
+        }
+
+        private static boolean isHidden(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+    }
+
+    private static final class DecompressedInputStream extends ServletInputStream {
+        private final InputStream body;
+        private final long maxSize;
+        private long size;
+        private boolean finished;
+        private boolean limitExceeded;
+
+        DecompressedInputStream(InputStream body, long maxSize) {
+            this.body = body;
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            checkLimit();
+            int value = body.read();
+            finished = value == -1;
+            if (!finished) {
+                count(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            checkLimit();
+            int read = body.read(buffer, offset, length);
+            finished = read == -1;
+            if (!finished) {
+                count(read);
+            }
+            return read;
+        }
+
+        private void count(int read) throws IOException {
+            size += read;
+            if (size > maxSize) {
+                limitExceeded = true;
+                checkLimit();
+            }
+        }
+
+        private void checkLimit() throws PayloadTooLargeException {
+            if (limitExceeded) {
+                throw new PayloadTooLargeException("Распакованное тело запроса больше " + maxSize + " байт");
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            // Распаковка может потребовать больше сжатых байтов, чем готово к неблокирующему чтению;
+            // контроллеры Spring MVC читают тело блокирующе.
+            throw new UnsupportedOperationException("Асинхронное чтение сжатого тела не поддерживается");
+        }
+
+        @Override
+        public void close() throws IOException {
+            body.close();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.util.web;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Двоичный формат Smile ({@code application/x-jackson-smile}) для шлюза. Конвертер строится на настройках
+ * Jackson из Spring Boot, поэтому даты и прочие значения кодируются так же, как в JSON. Он стоит после
+ * конвертера JSON: Smile отдаётся, только если клиент явно просит его в {@code Accept}.
+ */
+@Configuration
+public class SmileMessageConverterConfig implements WebMvcConfigurer {
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    public SmileMessageConverterConfig(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilder.factory(new SmileFactory()).build()));
+    }
+}
@@ -0,0 +1,59 @@
+CREATE TABLE IF NOT EXISTS users (
+                                     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+                                     name VARCHAR(255),
+                                     email VARCHAR(255),
+                                     CONSTRAINT pk_users PRIMARY KEY (id)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email ON users (email);
+
+CREATE TABLE IF NOT EXISTS item_requests (
+                                     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+                                     description TEXT NOT NULL,
+                                     requester_id BIGINT NOT NULL,
+                                     timestamp TIMESTAMP WITHOUT TIME ZONE,
+                                     CONSTRAINT pk_item_requests PRIMARY KEY (id),
+                                     CONSTRAINT fk_item_requests_requester FOREIGN KEY (requester_id)
+                                         REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS items (
+                                     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+                                     name VARCHAR(255),
+                                     description TEXT,
+                                     available BOOLEAN,
+                                     owner_id BIGINT,
+                                     request_id BIGINT,
+                                     CONSTRAINT pk_items PRIMARY KEY (id),
+                                     CONSTRAINT fk_items_owner FOREIGN KEY (owner_id)
+                                         REFERENCES users (id) ON DELETE CASCADE,
+                                     CONSTRAINT fk_items_request FOREIGN KEY (request_id)
+                                         REFERENCES item_requests (id) ON DELETE SET NULL
+);
+
+CREATE TABLE IF NOT EXISTS bookings (
+                                     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+                                     start_date TIMESTAMP WITHOUT TIME ZONE,
+                                     end_date TIMESTAMP WITHOUT TIME ZONE,
+                                     item_id BIGINT NOT NULL,
+                                     booker_id BIGINT NOT NULL,
+                                     status VARCHAR(20),
+                                     CONSTRAINT pk_bookings PRIMARY KEY (id),
+                                     CONSTRAINT fk_bookings_item FOREIGN KEY (item_id)
+                                         REFERENCES items (id) ON DELETE CASCADE,
+                                     CONSTRAINT fk_bookings_booker FOREIGN KEY (booker_id)
+                                         REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS comments (
+                                     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+                                     text TEXT,
+                                     item_id BIGINT,
+                                     author_id BIGINT,
+                                     created TIMESTAMP WITHOUT TIME ZONE,
+                                     CONSTRAINT pk_comments PRIMARY KEY (id),
+                                     CONSTRAINT fk_comments_item FOREIGN KEY (item_id)
+                                         REFERENCES items (id) ON DELETE CASCADE,
+                                     CONSTRAINT fk_comments_author FOREIGN KEY (author_id)
+                                         REFERENCES users (id) ON DELETE CASCADE
+);
@@ -0,0 +1,10 @@
+CREATE INDEX IF NOT EXISTS idx_item_requests_requester_timestamp ON item_requests (requester_id, timestamp DESC);
+CREATE INDEX IF NOT EXISTS idx_item_requests_timestamp ON item_requests (timestamp DESC);
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id);
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_booker_end ON bookings (item_id, booker_id, end_date);
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
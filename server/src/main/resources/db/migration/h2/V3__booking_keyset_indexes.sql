@@ -0,0 +1,4 @@
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start_id ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start_id ON bookings (booker_id, status, start_date DESC, id DESC);
+DROP INDEX IF EXISTS idx_bookings_booker_start;
+DROP INDEX IF EXISTS idx_bookings_booker_status_start;
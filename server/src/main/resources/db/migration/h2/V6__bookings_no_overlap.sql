@@ -0,0 +1,12 @@
+-- Аналог ограничения ex_bookings_item_period из PostgreSQL: в H2 нет исключающих ограничений,
+-- поэтому пересечение проверяет функция приложения в CHECK-ограничении. Ограничение проверяется
+-- при вставке и при изменении строки, как и исключающее ограничение PostgreSQL. Функция блокирует
+-- строку вещи, чтобы параллельные изменения бронирований одной вещи проверялись по очереди,
+-- и возвращает тот же SQLSTATE 23P01.
+-- Функция — обычный класс приложения на JDBC: ни исходный код Java в миграции (его H2 не компилирует
+-- в исполняемом jar Spring Boot), ни триггер (он требует H2 при компиляции) не подходят.
+CREATE ALIAS IF NOT EXISTS booking_no_overlap
+    FOR "ru.practicum.shareit.util.migration.H2BookingOverlapCheck.noOverlap";
+
+ALTER TABLE bookings ADD CONSTRAINT ck_bookings_no_overlap
+    CHECK (booking_no_overlap(id, item_id, start_date, end_date, status));
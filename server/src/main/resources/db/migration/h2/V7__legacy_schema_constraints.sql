@@ -0,0 +1,39 @@
+-- Ограничения для баз, созданных до Flyway скриптом schema.sql (базовая версия V1, см. postgresql/V7).
+-- Строки со ссылками на несуществующих пользователей и вещи удаляются, ссылка на несуществующий запрос
+-- обнуляется; повторяющиеся email прерывают миграцию на создании уникального индекса.
+DELETE FROM item_requests r WHERE NOT EXISTS (SELECT 1 FROM users u WHERE u.id = r.requester_id);
+DELETE FROM items i WHERE i.owner_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM users u WHERE u.id = i.owner_id);
+UPDATE items i SET request_id = NULL
+WHERE i.request_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM item_requests r WHERE r.id = i.request_id);
+DELETE FROM bookings b
+WHERE NOT EXISTS (SELECT 1 FROM items i WHERE i.id = b.item_id)
+   OR NOT EXISTS (SELECT 1 FROM users u WHERE u.id = b.booker_id);
+DELETE FROM comments c
+WHERE (c.item_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM items i WHERE i.id = c.item_id))
+   OR (c.author_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM users u WHERE u.id = c.author_id));
+
+ALTER TABLE users ADD CONSTRAINT IF NOT EXISTS pk_users PRIMARY KEY (id);
+ALTER TABLE item_requests ADD CONSTRAINT IF NOT EXISTS pk_item_requests PRIMARY KEY (id);
+ALTER TABLE items ADD CONSTRAINT IF NOT EXISTS pk_items PRIMARY KEY (id);
+ALTER TABLE bookings ADD CONSTRAINT IF NOT EXISTS pk_bookings PRIMARY KEY (id);
+ALTER TABLE comments ADD CONSTRAINT IF NOT EXISTS pk_comments PRIMARY KEY (id);
+
+ALTER TABLE items ALTER COLUMN owner_id SET DATA TYPE BIGINT;
+ALTER TABLE items ALTER COLUMN request_id SET DATA TYPE BIGINT;
+
+ALTER TABLE item_requests ADD CONSTRAINT IF NOT EXISTS fk_item_requests_requester FOREIGN KEY (requester_id)
+    REFERENCES users (id) ON DELETE CASCADE;
+ALTER TABLE items ADD CONSTRAINT IF NOT EXISTS fk_items_owner FOREIGN KEY (owner_id)
+    REFERENCES users (id) ON DELETE CASCADE;
+ALTER TABLE items ADD CONSTRAINT IF NOT EXISTS fk_items_request FOREIGN KEY (request_id)
+    REFERENCES item_requests (id) ON DELETE SET NULL;
+ALTER TABLE bookings ADD CONSTRAINT IF NOT EXISTS fk_bookings_item FOREIGN KEY (item_id)
+    REFERENCES items (id) ON DELETE CASCADE;
+ALTER TABLE bookings ADD CONSTRAINT IF NOT EXISTS fk_bookings_booker FOREIGN KEY (booker_id)
+    REFERENCES users (id) ON DELETE CASCADE;
+ALTER TABLE comments ADD CONSTRAINT IF NOT EXISTS fk_comments_item FOREIGN KEY (item_id)
+    REFERENCES items (id) ON DELETE CASCADE;
+ALTER TABLE comments ADD CONSTRAINT IF NOT EXISTS fk_comments_author FOREIGN KEY (author_id)
+    REFERENCES users (id) ON DELETE CASCADE;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email ON users (email);
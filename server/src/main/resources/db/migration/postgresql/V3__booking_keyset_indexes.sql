@@ -0,0 +1,6 @@
+-- Индексы для постраничной выборки по курсору (start_date, id): заменяют индексы без id,
+-- чтобы бронирования с одинаковой датой начала тоже читались из индекса в нужном порядке.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_booker_start_id ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_booker_status_start_id ON bookings (booker_id, status, start_date DESC, id DESC);
+DROP INDEX CONCURRENTLY IF EXISTS idx_bookings_booker_start;
+DROP INDEX CONCURRENTLY IF EXISTS idx_bookings_booker_status_start;
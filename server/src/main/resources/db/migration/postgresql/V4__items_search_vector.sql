@@ -0,0 +1,10 @@
+-- Полнотекстовый вектор вещи для поиска: совпадения в названии весят больше, чем в описании.
+-- Конфигурация 'simple' не зависит от языка и не отбрасывает стоп-слова.
+-- Вектор не хранится в таблице: добавление вычисляемой колонки переписало бы всю items под блокировкой
+-- ACCESS EXCLUSIVE. Функция используется и в индексе (V5), и в запросе поиска, поэтому выражения совпадают
+-- и планировщик выбирает индекс. Объявлена IMMUTABLE, как того требует индекс по выражению.
+CREATE OR REPLACE FUNCTION items_search_vector(name TEXT, description TEXT) RETURNS tsvector
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$
+SELECT setweight(to_tsvector('simple'::regconfig, coalesce(name, '')), 'A') ||
+       setweight(to_tsvector('simple'::regconfig, coalesce(description, '')), 'B')
+$$;
@@ -0,0 +1,4 @@
+-- GIN-индекс по вектору только доступных вещей: поиск возвращает лишь их.
+-- Индекс по выражению строится CONCURRENTLY, без блокировки записи в items.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_items_search ON items
+    USING GIN (items_search_vector(name, description)) WHERE available = TRUE;
@@ -0,0 +1,48 @@
+-- Запрет пересекающихся активных бронирований одной вещи на уровне базы.
+-- Период полуоткрытый [start_date, end_date): бронирования встык не конфликтуют.
+-- Отклонённые и отменённые бронирования период не занимают.
+-- Нарушение ограничения возвращает SQLSTATE 23P01 (exclusion_violation).
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- У исключающих ограничений нет варианта CONCURRENTLY или NOT VALID: GiST-индекс строится под блокировкой
+-- ACCESS EXCLUSIVE на bookings, на большой таблице миграцию нужно запускать в окно обслуживания.
+-- lock_timeout не даёт миграции встать в очередь за долгой транзакцией и остановить все запросы к таблице.
+-- До конца транзакции запись в bookings закрыта, чтобы после разрешения конфликтов не появились новые.
+SET LOCAL lock_timeout = '5s';
+LOCK TABLE bookings IN SHARE ROW EXCLUSIVE MODE;
+
+-- Ограничение не добавится, пока в таблице есть пересекающиеся бронирования, поэтому сначала они
+-- разрешаются: по каждой вещи бронирования перебираются по старшинству (подтверждённые раньше ожидающих,
+-- затем в порядке создания), и бронирование, пересекающееся с уже оставленным, переводится в REJECTED.
+-- Id отклонённых бронирований выводятся через RAISE NOTICE.
+DO $$
+DECLARE
+    candidate RECORD;
+    rejected BIGINT[] := '{}';
+BEGIN
+    FOR candidate IN
+        SELECT b.id, b.item_id, b.status, tsrange(b.start_date, b.end_date) AS period
+        FROM bookings b
+        WHERE b.status IN ('WAITING', 'APPROVED')
+          AND EXISTS (SELECT 1 FROM bookings o
+                      WHERE o.item_id = b.item_id AND o.id <> b.id AND o.status IN ('WAITING', 'APPROVED')
+                        AND tsrange(o.start_date, o.end_date) && tsrange(b.start_date, b.end_date))
+        ORDER BY b.item_id, b.status = 'APPROVED' DESC, b.id
+    LOOP
+        IF EXISTS (SELECT 1 FROM bookings o
+                   WHERE o.item_id = candidate.item_id AND o.id <> candidate.id
+                     AND o.status IN ('WAITING', 'APPROVED')
+                     AND tsrange(o.start_date, o.end_date) && candidate.period
+                     AND (o.status = 'APPROVED' AND candidate.status = 'WAITING'
+                          OR o.status = candidate.status AND o.id < candidate.id)) THEN
+            UPDATE bookings SET status = 'REJECTED' WHERE id = candidate.id;
+            rejected := rejected || candidate.id;
+        END IF;
+    END LOOP;
+    RAISE NOTICE 'V6: отклонено пересекающихся бронирований: % %', cardinality(rejected), rejected;
+END
+$$;
+
+ALTER TABLE bookings ADD CONSTRAINT ex_bookings_item_period
+    EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+    WHERE (status IN ('WAITING', 'APPROVED'));
@@ -0,0 +1,106 @@
+-- Ограничения для баз, созданных до Flyway скриптом schema.sql. Такие базы получают базовую версию V1
+-- (spring.flyway.baseline-version=1), поэтому V1 к ним не применяется, а таблицы остаются без первичных
+-- и внешних ключей и без уникальности email. На базах, созданных V1, скрипт ничего не меняет.
+--
+-- Перед добавлением ограничений:
+-- * повторяющиеся email не исправляются автоматически: миграция прерывается со списком адресов,
+--   которые нужно развести вручную;
+-- * строки, ссылающиеся на несуществующих пользователей и вещи, удаляются так же, как их удалил бы
+--   ON DELETE CASCADE, а ссылка вещи на несуществующий запрос обнуляется (ON DELETE SET NULL).
+--   Количество удалённых строк выводится через RAISE NOTICE.
+DO $$
+DECLARE
+    duplicates TEXT;
+    affected BIGINT;
+BEGIN
+    SELECT string_agg(email, ', ' ORDER BY email) INTO duplicates
+    FROM (SELECT email FROM users WHERE email IS NOT NULL GROUP BY email HAVING count(*) > 1) d;
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'V7: повторяющиеся email пользователей, уникальный индекс не создан: %', duplicates;
+    END IF;
+
+    SELECT string_agg(id::TEXT, ', ') INTO duplicates
+    FROM (SELECT id FROM users GROUP BY id HAVING count(*) > 1) d;
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'V7: повторяющиеся id пользователей: %', duplicates;
+    END IF;
+
+    DELETE FROM item_requests r WHERE NOT EXISTS (SELECT 1 FROM users u WHERE u.id = r.requester_id);
+    GET DIAGNOSTICS affected = ROW_COUNT;
+    RAISE NOTICE 'V7: удалено запросов без автора: %', affected;
+
+    DELETE FROM items i WHERE i.owner_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM users u WHERE u.id = i.owner_id);
+    GET DIAGNOSTICS affected = ROW_COUNT;
+    RAISE NOTICE 'V7: удалено вещей без владельца: %', affected;
+
+    UPDATE items i SET request_id = NULL
+    WHERE i.request_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM item_requests r WHERE r.id = i.request_id);
+    GET DIAGNOSTICS affected = ROW_COUNT;
+    RAISE NOTICE 'V7: обнулено ссылок вещей на несуществующие запросы: %', affected;
+
+    DELETE FROM bookings b
+    WHERE NOT EXISTS (SELECT 1 FROM items i WHERE i.id = b.item_id)
+       OR NOT EXISTS (SELECT 1 FROM users u WHERE u.id = b.booker_id);
+    GET DIAGNOSTICS affected = ROW_COUNT;
+    RAISE NOTICE 'V7: удалено бронирований без вещи или автора: %', affected;
+
+    DELETE FROM comments c
+    WHERE (c.item_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM items i WHERE i.id = c.item_id))
+       OR (c.author_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM users u WHERE u.id = c.author_id));
+    GET DIAGNOSTICS affected = ROW_COUNT;
+    RAISE NOTICE 'V7: удалено комментариев без вещи или автора: %', affected;
+
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conrelid = 'users'::regclass AND contype = 'p') THEN
+        ALTER TABLE users ADD CONSTRAINT pk_users PRIMARY KEY (id);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conrelid = 'item_requests'::regclass AND contype = 'p') THEN
+        ALTER TABLE item_requests ADD CONSTRAINT pk_item_requests PRIMARY KEY (id);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conrelid = 'items'::regclass AND contype = 'p') THEN
+        ALTER TABLE items ADD CONSTRAINT pk_items PRIMARY KEY (id);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conrelid = 'bookings'::regclass AND contype = 'p') THEN
+        ALTER TABLE bookings ADD CONSTRAINT pk_bookings PRIMARY KEY (id);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conrelid = 'comments'::regclass AND contype = 'p') THEN
+        ALTER TABLE comments ADD CONSTRAINT pk_comments PRIMARY KEY (id);
+    END IF;
+
+    -- В schema.sql ссылки вещи были INTEGER, а идентификаторы — BIGINT.
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'items' AND column_name = 'owner_id' AND data_type = 'integer') THEN
+        ALTER TABLE items ALTER COLUMN owner_id TYPE BIGINT, ALTER COLUMN request_id TYPE BIGINT;
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_item_requests_requester') THEN
+        ALTER TABLE item_requests ADD CONSTRAINT fk_item_requests_requester FOREIGN KEY (requester_id)
+            REFERENCES users (id) ON DELETE CASCADE;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_items_owner') THEN
+        ALTER TABLE items ADD CONSTRAINT fk_items_owner FOREIGN KEY (owner_id)
+            REFERENCES users (id) ON DELETE CASCADE;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_items_request') THEN
+        ALTER TABLE items ADD CONSTRAINT fk_items_request FOREIGN KEY (request_id)
+            REFERENCES item_requests (id) ON DELETE SET NULL;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_bookings_item') THEN
+        ALTER TABLE bookings ADD CONSTRAINT fk_bookings_item FOREIGN KEY (item_id)
+            REFERENCES items (id) ON DELETE CASCADE;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_bookings_booker') THEN
+        ALTER TABLE bookings ADD CONSTRAINT fk_bookings_booker FOREIGN KEY (booker_id)
+            REFERENCES users (id) ON DELETE CASCADE;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_comments_item') THEN
+        ALTER TABLE comments ADD CONSTRAINT fk_comments_item FOREIGN KEY (item_id)
+            REFERENCES items (id) ON DELETE CASCADE;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_comments_author') THEN
+        ALTER TABLE comments ADD CONSTRAINT fk_comments_author FOREIGN KEY (author_id)
+            REFERENCES users (id) ON DELETE CASCADE;
+    END IF;
+END
+$$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email ON users (email);
@@ -0,0 +1,122 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверяет кеш второго уровня Hibernate: повторное чтение без запроса к базе и сброс после изменений.
+ * Тест не транзакционный, потому что кеш заполняется только после фиксации транзакции.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+class EntityCacheTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getItemById_shouldReadItemFromSecondLevelCache() {
+        Item item = saveItem("Дрель");
+        readItem(item.getId());
+        statistics.clear();
+
+        String name = readItem(item.getId());
+
+        assertThat(name).isEqualTo("Дрель");
+        assertThat(statistics.getDomainDataRegionStatistics("items").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(meterRegistry.get("cache.gets")
+                .tag("cache", "items")
+                .tag("cache.manager", "entityCacheManager")
+                .tag("result", "hit")
+                .functionCounter()
+                .count()).isPositive();
+    }
+
+    @Test
+    void updateItem_shouldReplaceCachedItem() {
+        Item item = saveItem("Дрель");
+        readItem(item.getId());
+
+        itemService.updateItem(item.getOwner().getId(), ItemDto.builder().id(item.getId()).name("Пила").build());
+
+        assertThat(readItem(item.getId())).isEqualTo("Пила");
+    }
+
+    @Test
+    void delete_shouldEvictItemsRemovedByDatabaseCascade() {
+        Item item = saveItem("Дрель");
+        readItem(item.getId());
+
+        userService.delete(item.getOwner().getId());
+
+        assertThat(entityManagerFactory.getCache().contains(Item.class, item.getId())).isFalse();
+        assertThat(itemRepository.findById(item.getId())).isEmpty();
+    }
+
+    private Item saveItem(String name) {
+        User owner = userRepository.save(User.builder().name("John Doe").email("john@example.com").build());
+        return itemRepository.save(Item.builder()
+                .name(name)
+                .description("Описание")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    private String readItem(Long itemId) {
+        return transactionTemplate.execute(status -> itemRepository.findById(itemId).orElseThrow().getName());
+    }
+}
@@ -0,0 +1,165 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.AbstractProtocol;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Сравнивает HTTP/1.1 и HTTP/2 без TLS (h2c) на внутреннем участке шлюз — сервер: тот же клиент JDK, что
+ * и в шлюзе при {@code shareit-server.client.protocol=H2C}, шлёт запросы бронирований владельца с заданным
+ * числом одновременных запросов. Замеряются p50/p99 задержки и наибольшее число открытых соединений на сервере.
+ * Запуск: {@code mvn test -pl server -Dtest=Http2BenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "server.http2.enabled=true")
+@AutoConfigureTestDatabase
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class Http2BenchmarkTest {
+    private static final int CONCURRENCY = 200;
+    private static final int REQUESTS = 20_000;
+    private static final int BOOKINGS = 20;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void compareHttp11AndH2c() throws Exception {
+        Long ownerId = seed();
+        for (HttpClient.Version version : new HttpClient.Version[]{HttpClient.Version.HTTP_1_1,
+                HttpClient.Version.HTTP_2}) {
+            try (HttpClient client = HttpClient.newBuilder().version(version).build()) {
+                run(client, ownerId, 2_000);
+                Result result = run(client, ownerId, REQUESTS);
+                log.info("{}: {} запросов/с, p50 {} мс, p99 {} мс, соединений на сервере до {}, ошибок {}",
+                        version, result.throughput(), result.percentile(50), result.percentile(99),
+                        result.maxConnections(), result.errors());
+                assertThat(result.errors()).isZero();
+            }
+            // Соединения закрытого клиента должны уйти, чтобы не попасть в замер следующего протокола.
+            Thread.sleep(1_000);
+        }
+    }
+
+    private Long seed() {
+        User owner = userRepository.save(User.builder().name("Owner").email("owner@example.com").build());
+        User booker = userRepository.save(User.builder().name("Booker").email("booker@example.com").build());
+        Item item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Powerful drill")
+                .available(true)
+                .owner(owner)
+                .build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .start(start.plusDays(i))
+                    .end(start.plusDays(i).plusHours(12))
+                    .status(BookingStatus.APPROVED)
+                    .build());
+        }
+        return owner.getId();
+    }
+
+    private Result run(HttpClient client, Long ownerId, int requests) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/bookings/owner?state=ALL"))
+                .header("X-Sharer-User-Id", ownerId.toString())
+                .timeout(Duration.ofMinutes(1))
+                .build();
+        AbstractProtocol<?> protocol = (AbstractProtocol<?>) ((TomcatWebServer) context.getWebServer())
+                .getTomcat().getConnector().getProtocolHandler();
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        AtomicLong maxConnections = new AtomicLong();
+        long startedAt = System.nanoTime();
+        try (ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            sampler.scheduleAtFixedRate(() -> maxConnections.accumulateAndGet(protocol.getConnectionCount(), Math::max),
+                    0, 10, TimeUnit.MILLISECONDS);
+            for (int i = 0; i < CONCURRENCY; i++) {
+                executor.submit(() -> {
+                    for (int n = next.getAndIncrement(); n < requests; n = next.getAndIncrement()) {
+                        long sentAt = System.nanoTime();
+                        try {
+                            if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            if (errors.incrementAndGet() == 1) {
+                                log.warn("Первая ошибка запроса", e);
+                            }
+                        }
+                        latencies[n] = System.nanoTime() - sentAt;
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.MINUTES);
+        }
+        return new Result(latencies, System.nanoTime() - startedAt, errors.get(), maxConnections.get());
+    }
+
+    private record Result(long[] latencies, long elapsedNanos, int errors, long maxConnections) {
+        long throughput() {
+            return Math.round(latencies.length / (elapsedNanos / 1e9));
+        }
+
+        long percentile(int percent) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return Math.round(sorted[(int) Math.ceil(sorted.length * percent / 100.0) - 1] / 1e6);
+        }
+    }
+}
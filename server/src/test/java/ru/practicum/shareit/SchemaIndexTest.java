@@ -0,0 +1,226 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingExportRow;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.comment.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверяет по плану EXPLAIN, что запросы репозиториев обслуживаются индексом, а не полным сканированием таблицы.
+ * План строится для SQL, который Hibernate сгенерировал при вызове метода репозитория: его перехватывает
+ * {@link StatementInspector}, поэтому тест ловит и изменения в самих запросах.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+class SchemaIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SqlRecorder sqlRecorder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Кеш запросов вернул бы результат без SQL.
+        entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictAllRegions();
+    }
+
+    @Test
+    void findByBookerIdOrderByStartDesc_shouldUseBookerIndex() {
+        assertThat(explain(() -> bookingRepository.findByBookerIdOrderByStartDescIdDesc(1L, PageRequest.of(0, 10))))
+                .containsPattern(indexLookup("BOOKER_ID ="));
+    }
+
+    @Test
+    void findByBookerIdAndStatusOrderByStartDesc_shouldUseBookerIndex() {
+        assertThat(explain(() -> bookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(1L,
+                BookingStatus.WAITING, PageRequest.of(0, 10))))
+                .containsPattern(indexLookup("BOOKER_ID ="));
+    }
+
+    @Test
+    void findPeriodsByBookerId_shouldUseBookerIndex() {
+        assertThat(explain(() -> bookingRepository.findPeriodsByBookerId(1L,
+                Set.of(BookingStatus.WAITING, BookingStatus.APPROVED), LocalDateTime.now())))
+                .containsPattern(indexLookup("BOOKER_ID ="));
+    }
+
+    @Test
+    void streamExportRowsAsBooker_shouldUseBookerIndex() {
+        assertThat(explain(() -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<BookingExportRow> rows = bookingRepository.streamExportRowsAsBooker(1L)) {
+                rows.forEach(row -> { });
+            }
+        }))).containsPattern(indexLookup("BOOKER_ID ="));
+    }
+
+    @Test
+    void streamExportRowsAsOwner_shouldUseOwnerAndItemIndexes() {
+        assertThat(explain(() -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<BookingExportRow> rows = bookingRepository.streamExportRowsAsOwner(1L)) {
+                rows.forEach(row -> { });
+            }
+        })))
+                .containsPattern(indexLookup("OWNER_ID ="))
+                .containsPattern(indexLookup("ITEM_ID ="));
+    }
+
+    @Test
+    void findByItemOwnerIdOrderByStartDesc_shouldUseOwnerAndItemIndexes() {
+        assertThat(explain(() -> bookingRepository.findByItemOwnerIdOrderByStartDescIdDesc(1L,
+                PageRequest.of(0, 10))))
+                .containsPattern(indexLookup("OWNER_ID ="))
+                .containsPattern(indexLookup("ITEM_ID ="));
+    }
+
+    @Test
+    void findByItemOwnerIdAndStatusAfter_shouldUseOwnerAndItemIndexes() {
+        assertThat(explain(() -> bookingRepository.findByItemOwnerIdAndStatusAfter(1L, BookingStatus.WAITING,
+                LocalDateTime.now(), 1L, PageRequest.of(0, 10))))
+                .containsPattern(indexLookup("OWNER_ID ="))
+                .containsPattern(indexLookup("ITEM_ID ="));
+    }
+
+    @Test
+    void findByItemOwnerIdAndStatusOrderByStartDesc_shouldUseOwnerAndItemIndexes() {
+        assertThat(explain(() -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(1L,
+                BookingStatus.WAITING, PageRequest.of(0, 10))))
+                .containsPattern(indexLookup("OWNER_ID ="))
+                .containsPattern(indexLookup("ITEM_ID ="));
+    }
+
+    @Test
+    void findTopByItemIdAndBookerIdAndEndBefore_shouldUseItemIndex() {
+        assertThat(explain(() -> bookingRepository.findTopByItemIdAndBookerIdAndEndBeforeOrderByEndDesc(1L, 1L,
+                LocalDateTime.now())))
+                .containsIgnoringCase("idx_bookings_item_booker_end");
+    }
+
+    @Test
+    void findViewsByOwnerId_shouldUseOwnerIndex() {
+        assertThat(explain(() -> itemRepository.findViewsByOwnerId(1L, PageRequest.of(0, 10))))
+                .containsPattern(indexLookup("OWNER_ID ="));
+    }
+
+    @Test
+    void findViewsByRequestIdIn_shouldUseRequestIndex() {
+        assertThat(explain(() -> itemRepository.findViewsByRequestIdIn(List.of(1L, 2L, 3L))))
+                .containsPattern(indexLookup("REQUEST_ID IN"));
+    }
+
+    @Test
+    void findViewsByRequesterId_shouldUseRequesterIndex() {
+        assertThat(explain(() -> itemRequestRepository.findViewsByRequesterId(1L)))
+                .containsPattern(indexLookup("REQUESTER_ID ="));
+    }
+
+    @Test
+    void findByItemId_shouldUseCommentItemIndex() {
+        assertThat(explain(() -> commentRepository.findByItemId(1L)))
+                .containsPattern(indexLookup("ITEM_ID ="));
+    }
+
+    @Test
+    void findByEmail_shouldUseUniqueEmailIndex() {
+        assertThat(explain(() -> userRepository.findByEmail("john@example.com")))
+                .containsIgnoringCase("ux_users_email");
+    }
+
+    /**
+     * План единственного запроса SELECT, который выполнил вызов репозитория.
+     */
+    private String explain(Runnable repositoryCall) {
+        sqlRecorder.clear();
+        repositoryCall.run();
+        List<String> selects = sqlRecorder.statements().stream()
+                .filter(sql -> sql.stripLeading().regionMatches(true, 0, "select", 0, 6))
+                .toList();
+        assertThat(selects).hasSize(1);
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + selects.getFirst(), String.class));
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+        return plan;
+    }
+
+    private static String indexLookup(String condition) {
+        return "/\\* PUBLIC\\.\\w+: " + condition;
+    }
+
+    static class SqlRecorder implements StatementInspector {
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        List<String> statements() {
+            return statements;
+        }
+
+        void clear() {
+            statements.clear();
+        }
+    }
+
+    @TestConfiguration
+    static class SqlRecorderConfig {
+
+        @Bean
+        SqlRecorder sqlRecorder() {
+            return new SqlRecorder();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer sqlRecorderCustomizer(SqlRecorder sqlRecorder) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlRecorder);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package ru.practicum.shareit;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+class SchemaMigrationTest {
+    private static final String LEGACY_SCHEMA = """
+            CREATE TABLE users (id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL, name VARCHAR(255), email VARCHAR(255));
+            CREATE TABLE items (id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL, name VARCHAR(255), description TEXT,
+                                available BOOLEAN, owner_id INTEGER, request_id INTEGER);
+            CREATE TABLE item_requests (id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL, description TEXT NOT NULL,
+                                        requester_id BIGINT NOT NULL, timestamp TIMESTAMP WITHOUT TIME ZONE);
+            CREATE TABLE bookings (id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL, start_date TIMESTAMP WITHOUT TIME ZONE,
+                                   end_date TIMESTAMP WITHOUT TIME ZONE, item_id BIGINT NOT NULL, booker_id BIGINT NOT NULL,
+                                   status VARCHAR(20));
+            CREATE TABLE comments (id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL, text TEXT, item_id BIGINT,
+                                   author_id BIGINT, created TIMESTAMP WITHOUT TIME ZONE);
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrations_shouldBeAppliedInOrderWithChecksumAndExecutionTime() {
+        List<Map<String, Object>> history = jdbcTemplate.queryForList("""
+                SELECT "version", "checksum", "execution_time", "success"
+                FROM "flyway_schema_history"
+                WHERE "version" IS NOT NULL AND "type" = 'SQL'
+                ORDER BY "installed_rank"
+                """);
+
+        assertThat(history).extracting(row -> row.get("version")).startsWith("1", "2");
+        assertThat(history).allSatisfy(row -> {
+            assertThat(row.get("checksum")).isNotNull();
+            assertThat(row.get("execution_time")).isNotNull();
+            assertThat(row.get("success")).isEqualTo(true);
+        });
+    }
+
+    @Test
+    void migrate_shouldBaselineLegacySchemaAtV1AndAddConstraintsAfterRemovingOrphans() {
+        DataSource dataSource = legacyDataSource();
+        JdbcTemplate legacy = new JdbcTemplate(dataSource);
+        legacy.execute(LEGACY_SCHEMA);
+        legacy.execute("""
+                INSERT INTO users (id, name, email) VALUES (1, 'owner', 'owner@mail.ru'), (2, 'booker', 'booker@mail.ru');
+                INSERT INTO item_requests (id, description, requester_id) VALUES (1, 'drill', 2), (2, 'saw', 99);
+                INSERT INTO items (id, name, description, available, owner_id, request_id)
+                    VALUES (1, 'drill', 'drill', TRUE, 1, 1), (2, 'saw', 'saw', TRUE, 1, 2), (3, 'lost', 'lost', TRUE, 99, NULL);
+                INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+                    VALUES (1, NOW(), NOW(), 1, 2, 'WAITING'), (2, NOW(), NOW(), 3, 2, 'WAITING');
+                INSERT INTO comments (id, text, item_id, author_id) VALUES (1, 'ok', 1, 2), (2, 'lost', 1, 99);
+                """);
+
+        migrate(dataSource);
+
+        assertThat(legacy.queryForList("""
+                SELECT "type" FROM "flyway_schema_history" WHERE "version" = '1'
+                """, String.class)).containsExactly("BASELINE");
+        assertThat(legacy.queryForList("SELECT id FROM item_requests", Long.class)).containsExactly(1L);
+        assertThat(legacy.queryForList("SELECT id FROM items ORDER BY id", Long.class)).containsExactly(1L, 2L);
+        assertThat(legacy.queryForObject("SELECT request_id FROM items WHERE id = 2", Long.class)).isNull();
+        assertThat(legacy.queryForList("SELECT id FROM bookings", Long.class)).containsExactly(1L);
+        assertThat(legacy.queryForList("SELECT id FROM comments", Long.class)).containsExactly(1L);
+        assertThat(legacy.queryForList("""
+                SELECT CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS
+                WHERE TABLE_SCHEMA = 'PUBLIC' AND CONSTRAINT_TYPE IN ('PRIMARY KEY', 'FOREIGN KEY')
+                """, String.class)).map(String::toLowerCase).contains(
+                "pk_users", "pk_items", "pk_item_requests", "pk_bookings", "pk_comments",
+                "fk_items_owner", "fk_items_request", "fk_item_requests_requester",
+                "fk_bookings_item", "fk_bookings_booker", "fk_comments_item", "fk_comments_author");
+        assertThat(legacy.queryForObject("""
+                SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'ITEMS' AND COLUMN_NAME = 'OWNER_ID'
+                """, String.class)).isEqualTo("BIGINT");
+    }
+
+    @Test
+    void migrate_shouldStopOnDuplicateEmailsInLegacySchema() {
+        DataSource dataSource = legacyDataSource();
+        JdbcTemplate legacy = new JdbcTemplate(dataSource);
+        legacy.execute(LEGACY_SCHEMA);
+        legacy.execute("INSERT INTO users (name, email) VALUES ('a', 'same@mail.ru'), ('b', 'same@mail.ru')");
+
+        assertThatThrownBy(() -> migrate(dataSource))
+                .isInstanceOf(FlywayException.class)
+                .hasMessageContaining("UX_USERS_EMAIL");
+        assertThat(legacy.queryForObject("SELECT COUNT(*) FROM users", Long.class)).isEqualTo(2L);
+    }
+
+    private static DataSource legacyDataSource() {
+        return new DriverManagerDataSource("jdbc:h2:mem:legacy-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static void migrate(DataSource dataSource) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+}
@@ -0,0 +1,162 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Нагрузочное сравнение обработки запросов на потоках платформы (пул Tomcat) и на виртуальных потоках
+ * при 1 000 и 10 000 одновременных клиентов. Клиенты в замкнутом цикле запрашивают бронирования владельца,
+ * то есть каждый запрос проходит через JPA. Сервер запускается на H2 в памяти, поэтому ожидание базы здесь
+ * короче, чем на PostgreSQL, и выигрыш виртуальных потоков на реальной базе больше. Шлюз, который почти всё
+ * время ждёт сервер, сравнивается отдельно: {@code VirtualThreadsBenchmarkTest} в модуле шлюза.
+ * Запуск: {@code mvn test -pl server -Dtest=VirtualThreadsBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VirtualThreadsBenchmarkTest {
+    private static final int[] CLIENTS = {1_000, 10_000};
+    private static final int REQUESTS = 20_000;
+    private static final int BOOKINGS = 20;
+
+    @Test
+    void compareThroughput() throws Exception {
+        for (boolean virtual : new boolean[]{false, true}) {
+            try (ServletWebServerApplicationContext context = start(virtual)) {
+                String url = "http://localhost:" + context.getWebServer().getPort() + "/bookings/owner?state=ALL";
+                Long ownerId = seed(context);
+                run(url, ownerId, 100, 2_000);
+                for (int clients : CLIENTS) {
+                    Result result = run(url, ownerId, clients, REQUESTS);
+                    log.info("{} потоки, {} клиентов: {} запросов/с, p50 {} мс, p99 {} мс, ошибок {}",
+                            virtual ? "виртуальные" : "платформенные", clients, result.throughput(),
+                            result.percentile(50), result.percentile(99), result.errors());
+                    assertThat(result.errors()).isLessThan(REQUESTS / 10);
+                }
+            }
+        }
+    }
+
+    private static ServletWebServerApplicationContext start(boolean virtual) {
+        // Аргументы командной строки, а не свойства по умолчанию: иначе их перекрыли бы настройки приложения.
+        // Клиенты и сервер делят лимит открытых файлов процесса, поэтому часть соединений ждёт в очереди приёма.
+        return (ServletWebServerApplicationContext) new SpringApplicationBuilder(ShareItServer.class).run(
+                "--server.port=0",
+                "--server.tomcat.max-connections=4000",
+                "--server.tomcat.accept-count=8000",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + virtual,
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.hikari.maximum-pool-size=20",
+                "--spring.datasource.hikari.connection-timeout=60000",
+                "--logging.level.root=WARN",
+                "--logging.level.ru.practicum.shareit.VirtualThreadsBenchmarkTest=INFO");
+    }
+
+    private static Long seed(ServletWebServerApplicationContext context) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        User owner = userRepository.save(User.builder().name("Owner").email("owner@example.com").build());
+        User booker = userRepository.save(User.builder().name("Booker").email("booker@example.com").build());
+        Item item = context.getBean(ItemRepository.class).save(Item.builder()
+                .name("Drill")
+                .description("Powerful drill")
+                .available(true)
+                .owner(owner)
+                .build());
+        BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .start(start.plusDays(i))
+                    .end(start.plusDays(i).plusHours(12))
+                    .status(BookingStatus.APPROVED)
+                    .build());
+        }
+        return owner.getId();
+    }
+
+    private static Result run(String url, Long ownerId, int clients, int requests) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("X-Sharer-User-Id", ownerId.toString())
+                .timeout(Duration.ofMinutes(2))
+                .build();
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        AtomicReference<String> firstError = new AtomicReference<>();
+        CountDownLatch ready = new CountDownLatch(1);
+        long startedAt;
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    ready.await();
+                    for (int n = next.getAndIncrement(); n < requests; n = next.getAndIncrement()) {
+                        long sentAt = System.nanoTime();
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status != 200) {
+                                errors.incrementAndGet();
+                                firstError.compareAndSet(null, "HTTP " + status);
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            firstError.compareAndSet(null, e.toString());
+                        }
+                        latencies[n] = System.nanoTime() - sentAt;
+                    }
+                    return null;
+                });
+            }
+            startedAt = System.nanoTime();
+            ready.countDown();
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.MINUTES);
+        }
+        if (firstError.get() != null) {
+            log.warn("Первая ошибка при {} клиентах: {}", clients, firstError.get());
+        }
+        return new Result(latencies, System.nanoTime() - startedAt, errors.get());
+    }
+
+    private record Result(long[] latencies, long elapsedNanos, int errors) {
+        long throughput() {
+            return Math.round(latencies.length / (elapsedNanos / 1e9));
+        }
+
+        long percentile(int percent) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return Math.round(sorted[(int) Math.ceil(sorted.length * percent / 100.0) - 1] / 1e6);
+        }
+    }
+}
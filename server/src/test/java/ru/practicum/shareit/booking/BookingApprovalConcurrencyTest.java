@@ -0,0 +1,103 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingRsDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.exception.DataConflictException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Сотни параллельных подтверждений и отклонений одного бронирования: статус меняется ровно один раз.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+class BookingApprovalConcurrencyTest {
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS = 300;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void approveBooking_shouldProcessBookingExactlyOnce_whenApprovedConcurrently() throws Exception {
+        User owner = userRepository.save(User.builder().name("John Doe").email("john@example.com").build());
+        User booker = userRepository.save(User.builder().name("Jane Doe").email("jane@example.com").build());
+        Item item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Powerful drill")
+                .available(true)
+                .owner(owner)
+                .build());
+        Booking booking = bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .status(BookingStatus.WAITING)
+                .build());
+
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<BookingRsDto>> attempts = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < ATTEMPTS; i++) {
+                boolean approved = i % 2 == 0;
+                attempts.add(executor.submit(() -> {
+                    ready.await();
+                    return bookingService.approveBooking(owner.getId(), booking.getId(), approved);
+                }));
+            }
+            ready.countDown();
+        }
+
+        List<BookingRsDto> processed = new ArrayList<>();
+        int conflicts = 0;
+        for (Future<BookingRsDto> attempt : attempts) {
+            try {
+                processed.add(attempt.get());
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(DataConflictException.class);
+                conflicts++;
+            }
+        }
+        assertThat(processed).hasSize(1);
+        assertThat(conflicts).isEqualTo(ATTEMPTS - 1);
+        assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getStatus())
+                .isEqualTo(processed.getFirst().getStatus());
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityEngine;
+import ru.practicum.shareit.booking.dto.BookingApprovalCheck;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto.Outcome;
+import ru.practicum.shareit.booking.dto.BookingBatchApprovalDto;
+import ru.practicum.shareit.booking.events.BookingStatusEventDto;
+import ru.practicum.shareit.booking.events.BookingStatusNotifier;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.util.exception.ConditionsNotMetException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Пакетное решение по бронированиям без базы: обновлённые запросом бронирования подставляются вручную.
+ */
+class BookingBatchApprovalTest {
+    private static final long OWNER_ID = 1L;
+    private static final long BOOKER_ID = 2L;
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ItemAvailabilityEngine availabilityEngine;
+
+    @Mock
+    private BookingStatusNotifier statusNotifier;
+
+    @InjectMocks
+    private BookingServiceImpl bookingService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        try (AutoCloseable ignored = MockitoAnnotations.openMocks(this)) {
+            when(bookingRepository.findApprovalChecks(List.of(10L, 11L, 12L)))
+                    .thenReturn(List.of(check(10L, BookingStatus.WAITING), check(11L, BookingStatus.WAITING),
+                            check(12L, BookingStatus.WAITING)));
+        }
+    }
+
+    @Test
+    void approveBookings_shouldReportOnlyRowsUpdatedByThisRequest() {
+        when(bookingRepository.updateWaitingStatuses(List.of(10L, 11L, 12L), BookingStatus.REJECTED))
+                .thenReturn(Set.of(10L, 12L));
+
+        List<BookingApprovalResultDto> results = bookingService.approveBookings(OWNER_ID,
+                BookingBatchApprovalDto.builder().bookingIds(List.of(10L, 11L, 12L)).approved(false).build());
+
+        assertThat(results).extracting(BookingApprovalResultDto::getOutcome)
+                .containsExactly(Outcome.UPDATED, Outcome.ALREADY_PROCESSED, Outcome.UPDATED);
+        assertThat(results).extracting(BookingApprovalResultDto::getStatus)
+                .containsExactly(BookingStatus.REJECTED, null, BookingStatus.REJECTED);
+        ArgumentCaptor<BookingStatusEventDto> events = ArgumentCaptor.forClass(BookingStatusEventDto.class);
+        verify(statusNotifier, times(2)).onStatusChanged(events.capture(), eq(BOOKER_ID), eq(OWNER_ID));
+        assertThat(events.getAllValues()).extracting(BookingStatusEventDto::getBookingId).containsExactly(10L, 12L);
+        verify(availabilityEngine, times(2)).onBookingSaved(any(), eq(BookingStatus.REJECTED));
+        verify(bookingRepository, times(1)).findApprovalChecks(any());
+    }
+
+    @Test
+    void approveBookings_shouldRejectTooLargeBatch() {
+        List<Long> bookingIds = LongStream.rangeClosed(1, 501).boxed().toList();
+
+        assertThatThrownBy(() -> bookingService.approveBookings(OWNER_ID,
+                BookingBatchApprovalDto.builder().bookingIds(bookingIds).approved(true).build()))
+                .isInstanceOf(ConditionsNotMetException.class)
+                .hasMessageContaining("не более 500");
+        verifyNoInteractions(bookingRepository);
+    }
+
+    private static BookingApprovalCheck check(long bookingId, BookingStatus status) {
+        return new BookingApprovalCheck(bookingId, 100L, OWNER_ID, BOOKER_ID, status, START, START.plusDays(1));
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.catalina.connector.ClientAbortException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -11,11 +12,19 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingBatchApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingRqDto;
 import ru.practicum.shareit.booking.dto.BookingRsDto;
+import ru.practicum.shareit.booking.export.BookingExportService;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.util.ErrorHandler;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -31,6 +40,9 @@ public class BookingControllerTest {
     @Mock
     private BookingService bookingService;
 
+    @Mock
+    private BookingExportService bookingExportService;
+
     @InjectMocks
     private BookingController bookingController;
 
@@ -90,6 +102,37 @@ public class BookingControllerTest {
         verify(bookingService, times(1)).approveBooking(anyLong(), anyLong(), anyBoolean());
     }
 
+    @Test
+    void shouldApproveBookingsInBatch() throws Exception {
+        BookingBatchApprovalDto batchApprovalDto = BookingBatchApprovalDto.builder()
+                .bookingIds(List.of(1L, 2L))
+                .approved(true)
+                .build();
+        List<BookingApprovalResultDto> results = List.of(
+                BookingApprovalResultDto.builder()
+                        .bookingId(1L)
+                        .outcome(BookingApprovalResultDto.Outcome.UPDATED)
+                        .status(BookingStatus.APPROVED)
+                        .build(),
+                BookingApprovalResultDto.builder()
+                        .bookingId(2L)
+                        .outcome(BookingApprovalResultDto.Outcome.NOT_FOUND)
+                        .build());
+
+        when(bookingService.approveBookings(anyLong(), any(BookingBatchApprovalDto.class))).thenReturn(results);
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(objectMapper.writeValueAsString(batchApprovalDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$[1].outcome").value("NOT_FOUND"));
+
+        verify(bookingService, times(1)).approveBookings(anyLong(), any(BookingBatchApprovalDto.class));
+        verify(bookingService, never()).approveBooking(anyLong(), anyLong(), anyBoolean());
+    }
+
     @Test
     void shouldGetBookingById() throws Exception {
         BookingRsDto bookingRsDto = BookingRsDto.builder()
@@ -116,7 +159,7 @@ public class BookingControllerTest {
 
         List<BookingRsDto> bookings = Collections.singletonList(bookingRsDto);
 
-        when(bookingService.getUserBookings(anyLong(), any())).thenReturn(bookings);
+        when(bookingService.getUserBookings(anyLong(), any(), anyInt(), anyInt())).thenReturn(bookings);
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", 1L)
@@ -124,7 +167,7 @@ public class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.size()").value(1));
 
-        verify(bookingService, times(1)).getUserBookings(anyLong(), any());
+        verify(bookingService, times(1)).getUserBookings(anyLong(), any(), anyInt(), anyInt());
     }
 
     @Test
@@ -136,14 +179,76 @@ public class BookingControllerTest {
 
         List<BookingRsDto> bookings = Collections.singletonList(bookingRsDto);
 
-        when(bookingService.getOwnerBookings(anyLong(), any())).thenReturn(bookings);
+        when(bookingService.getOwnerBookings(anyLong(), any(), anyInt(), anyInt())).thenReturn(bookings);
 
         mockMvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", 1L)
-                        .param("status", "APPROVED"))
+                        .param("state", "APPROVED"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.size()").value(1));
 
-        verify(bookingService, times(1)).getOwnerBookings(anyLong(), any());
+        verify(bookingService, times(1)).getOwnerBookings(anyLong(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void shouldGetOwnerBookingsPageWhenCursorGiven() throws Exception {
+        BookingPageDto page = BookingPageDto.builder()
+                .bookings(List.of(BookingRsDto.builder().id(1L).status(BookingStatus.WAITING).build()))
+                .nextCursor("next")
+                .build();
+
+        when(bookingService.getOwnerBookingsPage(anyLong(), any(), anyString(), anyInt())).thenReturn(page);
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings.size()").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        verify(bookingService, never()).getOwnerBookings(anyLong(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void shouldExportBookingsAsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class)
+                    .write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(bookingExportService).export(eq(1L), any());
+
+        mockMvc.perform(get("/bookings/export")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+
+        verify(bookingService, never()).getUserBookings(anyLong(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void shouldAnswerServerError_whenExportFailsWithIoException() throws Exception {
+        doThrow(new IOException("disk read failed")).when(bookingExportService).export(eq(1L), any());
+        MockMvc mockMvcWithAdvice = MockMvcBuilders.standaloneSetup(bookingController)
+                .setControllerAdvice(new ErrorHandler())
+                .build();
+
+        mockMvcWithAdvice.perform(get("/bookings/export")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.details").value("disk read failed"));
+    }
+
+    @Test
+    void shouldIgnoreClientAbort_whenExportClientDisconnects() throws Exception {
+        doThrow(new ClientAbortException()).when(bookingExportService).export(eq(1L), any());
+        MockMvc mockMvcWithAdvice = MockMvcBuilders.standaloneSetup(bookingController)
+                .setControllerAdvice(new ErrorHandler())
+                .build();
+
+        mockMvcWithAdvice.perform(get("/bookings/export")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
     }
 }
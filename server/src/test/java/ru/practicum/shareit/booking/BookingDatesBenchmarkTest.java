@@ -0,0 +1,133 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Сравнивает прежний поиск последнего/следующего бронирования по коррелированным подзапросам
+ * с однопроходным SQL запроса {@link BookingRepository#findBookingDatesByItemIds}
+ * при постраничном обходе владельца с 10 000 вещей.
+ * Запуск: {@code mvn test -pl server -Dtest=BookingDatesBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@SpringBootTest
+@Transactional
+@AutoConfigureTestDatabase
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BookingDatesBenchmarkTest {
+    private static final int ITEMS = 10_000;
+    private static final int BOOKINGS_PER_ITEM = 10;
+    private static final int PAGE_SIZE = 100;
+    private static final int ROUNDS = 5;
+
+    private static final String LAST_BY_SUBQUERY = """
+            SELECT b.item_id, b.start_date FROM bookings b
+            WHERE b.item_id IN (:itemIds)
+            AND b.start_date = (SELECT MAX(b2.start_date) FROM bookings b2
+                                WHERE b2.item_id = b.item_id AND b2.start_date < :now)
+            """;
+    private static final String NEXT_BY_SUBQUERY = """
+            SELECT b.item_id, b.start_date FROM bookings b
+            WHERE b.item_id IN (:itemIds)
+            AND b.start_date = (SELECT MIN(b2.start_date) FROM bookings b2
+                                WHERE b2.item_id = b.item_id AND b2.start_date > :now)
+            """;
+    private static final String SINGLE_PASS = """
+            SELECT b.item_id,
+                   MAX(CASE WHEN b.start_date < :now THEN b.start_date END),
+                   MIN(CASE WHEN b.start_date > :now THEN b.start_date END)
+            FROM bookings b
+            WHERE b.item_id IN (:itemIds)
+            AND b.status NOT IN ('REJECTED', 'CANCELLED')
+            GROUP BY b.item_id
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Test
+    void findBookingDatesByItemIds_shouldBeFasterThanCorrelatedSubqueries() {
+        List<Long> itemIds = seedOwnerWithItems();
+        LocalDateTime now = LocalDateTime.now();
+        List<List<Long>> pages = new ArrayList<>();
+        for (int from = 0; from < itemIds.size(); from += PAGE_SIZE) {
+            pages.add(itemIds.subList(from, Math.min(from + PAGE_SIZE, itemIds.size())));
+        }
+
+        long subqueryNanos = measure(() -> pages.stream()
+                .mapToInt(page -> query(LAST_BY_SUBQUERY, page, now) + query(NEXT_BY_SUBQUERY, page, now))
+                .sum());
+        long singlePassNanos = measure(() -> pages.stream()
+                .mapToInt(page -> query(SINGLE_PASS, page, now))
+                .sum());
+        int singlePassRows = pages.stream().mapToInt(page -> query(SINGLE_PASS, page, now)).sum();
+
+        log.info("Коррелированные подзапросы: {} мс, один проход: {} мс, ускорение x{}",
+                subqueryNanos / 1_000_000, singlePassNanos / 1_000_000,
+                String.format("%.1f", (double) subqueryNanos / singlePassNanos));
+        assertThat(singlePassRows).isEqualTo(ITEMS);
+        assertThat(singlePassNanos).isLessThan(subqueryNanos);
+    }
+
+    private List<Long> seedOwnerWithItems() {
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('Owner', 'owner@example.com')");
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('Booker', 'booker@example.com')");
+        Long ownerId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'owner@example.com'", Long.class);
+        Long bookerId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'booker@example.com'", Long.class);
+
+        List<Object[]> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Object[]{"Item " + i, "Description " + i, true, ownerId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (name, description, available, owner_id) VALUES (?, ?, ?, ?)", items);
+        List<Long> itemIds = jdbcTemplate.queryForList("SELECT id FROM items WHERE owner_id = ? ORDER BY id", Long.class, ownerId);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> bookings = new ArrayList<>(ITEMS * BOOKINGS_PER_ITEM);
+        for (Long itemId : itemIds) {
+            for (int i = 0; i < BOOKINGS_PER_ITEM; i++) {
+                LocalDateTime start = now.plusDays(i * 2L - BOOKINGS_PER_ITEM);
+                bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(1)), itemId, bookerId, "APPROVED"});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) VALUES (?, ?, ?, ?, ?)", bookings);
+        return itemIds;
+    }
+
+    private int query(String sql, List<Long> itemIds, LocalDateTime now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("itemIds", itemIds)
+                .addValue("now", Timestamp.valueOf(now));
+        return namedJdbcTemplate.queryForList(sql, params).size();
+    }
+
+    private static long measure(Supplier<Integer> query) {
+        query.get();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long startedAt = System.nanoTime();
+            assertThat(query.get()).isPositive();
+            best = Math.min(best, System.nanoTime() - startedAt);
+        }
+        return best;
+    }
+}
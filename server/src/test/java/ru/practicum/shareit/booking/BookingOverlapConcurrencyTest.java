@@ -0,0 +1,102 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingRqDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.exception.DataConflictException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Параллельные попытки забронировать вещь на пересекающиеся периоды: база должна пропустить ровно одну.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+class BookingOverlapConcurrencyTest {
+    private static final int THREADS = 8;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void createBooking_shouldAcceptExactlyOneOfConcurrentOverlappingBookings() throws Exception {
+        User owner = userRepository.save(User.builder().name("John Doe").email("john@example.com").build());
+        Item item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Powerful drill")
+                .available(true)
+                .owner(owner)
+                .build());
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(userRepository.save(User.builder().name("Booker " + i).email("booker" + i + "@example.com").build()));
+        }
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<?>> attempts = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < THREADS; i++) {
+                User booker = bookers.get(i);
+                LocalDateTime bookingStart = start.plusHours(i);
+                attempts.add(executor.submit(() -> {
+                    ready.await();
+                    return bookingService.createBooking(booker.getId(), BookingRqDto.builder()
+                            .itemId(item.getId())
+                            .start(bookingStart)
+                            .end(bookingStart.plusDays(1))
+                            .build());
+                }));
+            }
+            ready.countDown();
+        }
+
+        int created = 0;
+        int conflicts = 0;
+        for (Future<?> attempt : attempts) {
+            try {
+                attempt.get();
+                created++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(DataConflictException.class);
+                conflicts++;
+            }
+        }
+        assertThat(created).isEqualTo(1);
+        assertThat(conflicts).isEqualTo(THREADS - 1);
+        assertThat(bookingRepository.count()).isEqualTo(1);
+    }
+}
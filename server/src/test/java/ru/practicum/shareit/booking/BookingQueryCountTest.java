@@ -0,0 +1,116 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@AutoConfigureTestDatabase
+class BookingQueryCountTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void getUserAndOwnerBookings_shouldNotDependOnResultSizeInStatementCount() {
+        User owner = userRepository.save(User.builder().name("John Doe").email("john@example.com").build());
+        User smallBooker = userRepository.save(User.builder().name("Jane Doe").email("jane@example.com").build());
+        User bigBooker = userRepository.save(User.builder().name("Big Booker").email("big@example.com").build());
+        User otherOwner = userRepository.save(User.builder().name("Other").email("other@example.com").build());
+
+        createBookings(owner, smallBooker, 1);
+        createBookings(otherOwner, bigBooker, 8);
+        entityManager.flush();
+        entityManager.clear();
+
+        long smallUserList = countStatements(() -> bookingService.getUserBookings(smallBooker.getId(), BookingStatus.ALL, 0, 10));
+        long bigUserList = countStatements(() -> bookingService.getUserBookings(bigBooker.getId(), BookingStatus.ALL, 0, 10));
+        long smallOwnerList = countStatements(() -> bookingService.getOwnerBookings(owner.getId(), BookingStatus.ALL, 0, 10));
+        long bigOwnerList = countStatements(() -> bookingService.getOwnerBookings(otherOwner.getId(), BookingStatus.ALL, 0, 10));
+
+        assertThat(bigUserList).isEqualTo(smallUserList);
+        assertThat(bigOwnerList).isEqualTo(smallOwnerList);
+    }
+
+    @Test
+    void getBooking_shouldLoadItemAndBookerWithBooking() {
+        User owner = userRepository.save(User.builder().name("John Doe").email("john@example.com").build());
+        User booker = userRepository.save(User.builder().name("Jane Doe").email("jane@example.com").build());
+        Long bookingId = createBookings(owner, booker, 1);
+        entityManager.flush();
+        entityManager.clear();
+
+        long statements = countStatements(() -> bookingService.getBooking(booker.getId(), bookingId));
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    private Long createBookings(User owner, User booker, int count) {
+        Long lastId = null;
+        for (int i = 0; i < count; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .name("Item " + i)
+                    .description("Description " + i)
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            lastId = bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .start(LocalDateTime.now().plusDays(i + 1))
+                    .end(LocalDateTime.now().plusDays(i + 2))
+                    .status(BookingStatus.WAITING)
+                    .build()).getId();
+        }
+        return lastId;
+    }
+
+    private long countStatements(Runnable request) {
+        entityManager.clear();
+        statistics.clear();
+        request.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
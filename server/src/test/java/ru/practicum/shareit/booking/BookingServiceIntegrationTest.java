@@ -6,6 +6,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingBatchApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingRqDto;
 import ru.practicum.shareit.booking.dto.BookingRsDto;
 import ru.practicum.shareit.booking.model.Booking;
@@ -19,7 +23,10 @@ import ru.practicum.shareit.util.exception.ConditionsNotMetException;
 import ru.practicum.shareit.util.exception.DataConflictException;
 import ru.practicum.shareit.util.exception.UnauthorizedException;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -75,6 +82,102 @@ class BookingServiceIntegrationTest {
         assertThat(savedBooking.getItem().getId()).isEqualTo(item.getId());
     }
 
+    @Test
+    void createBooking_shouldThrowDataConflict_whenPeriodOverlapsActiveBooking() {
+        User owner = userRepository.save(User.builder().name("John Doe").email("john@example.com").build());
+        User booker = userRepository.save(User.builder().name("Jane Doe").email("jane@example.com").build());
+        Item item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Powerful drill")
+                .available(true)
+                .owner(owner)
+                .build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingService.createBooking(booker.getId(), BookingRqDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(start.plusDays(2))
+                .build());
+
+        assertThatThrownBy(() -> bookingService.createBooking(booker.getId(), BookingRqDto.builder()
+                .itemId(item.getId())
+                .start(start.plusDays(1))
+                .end(start.plusDays(3))
+                .build()))
+                .isInstanceOf(DataConflictException.class)
+                .hasMessageContaining("уже забронирована");
+    }
+
+    @Test
+    void saveBooking_shouldViolateOverlapConstraint_whenInactiveBookingBecomesActive() {
+        User owner = userRepository.save(User.builder().name("John Doe").email("john@example.com").build());
+        User booker = userRepository.save(User.builder().name("Jane Doe").email("jane@example.com").build());
+        Item item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Powerful drill")
+                .available(true)
+                .owner(owner)
+                .build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingRepository.saveAndFlush(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(start.plusDays(2))
+                .status(BookingStatus.APPROVED)
+                .build());
+        Booking rejected = bookingRepository.saveAndFlush(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start.plusDays(1))
+                .end(start.plusDays(3))
+                .status(BookingStatus.REJECTED)
+                .build());
+
+        rejected.setStatus(BookingStatus.WAITING);
+
+        assertThatThrownBy(() -> bookingRepository.saveAndFlush(rejected))
+                .isInstanceOf(DataAccessException.class)
+                .hasRootCauseInstanceOf(SQLException.class)
+                .rootCause()
+                .extracting("SQLState")
+                .isEqualTo("23P01");
+    }
+
+    @Test
+    void createBooking_shouldAllowBackToBackAndRejectedPeriods() {
+        User owner = userRepository.save(User.builder().name("John Doe").email("john@example.com").build());
+        User booker = userRepository.save(User.builder().name("Jane Doe").email("jane@example.com").build());
+        Item item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Powerful drill")
+                .available(true)
+                .owner(owner)
+                .build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(start.plusDays(2))
+                .status(BookingStatus.REJECTED)
+                .build());
+
+        BookingRsDto first = bookingService.createBooking(booker.getId(), BookingRqDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(start.plusDays(1))
+                .build());
+        BookingRsDto second = bookingService.createBooking(booker.getId(), BookingRqDto.builder()
+                .itemId(item.getId())
+                .start(start.plusDays(1))
+                .end(start.plusDays(2))
+                .build());
+
+        assertThat(first.getId()).isNotNull();
+        assertThat(second.getId()).isNotNull();
+    }
+
     @Test
     void createBooking_shouldThrowException_whenItemIsUnavailable() {
         User owner = userRepository.save(User.builder()
@@ -137,6 +240,59 @@ class BookingServiceIntegrationTest {
         assertThat(approvedBooking.getStatus()).isEqualTo(BookingStatus.APPROVED);
     }
 
+    @Test
+    void approveBookings_shouldReportOutcomePerBooking() {
+        User owner = userRepository.save(User.builder().name("John Doe").email("john@example.com").build());
+        User booker = userRepository.save(User.builder().name("Jane Doe").email("jane@example.com").build());
+        User stranger = userRepository.save(User.builder().name("Stranger").email("stranger@example.com").build());
+        Item item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Powerful drill")
+                .available(true)
+                .owner(owner)
+                .build());
+        Item strangerItem = itemRepository.save(Item.builder()
+                .name("Saw")
+                .description("Sharp saw")
+                .available(true)
+                .owner(stranger)
+                .build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking waiting = bookingRepository.save(Booking.builder()
+                .item(item).booker(booker).start(start).end(start.plusDays(1)).status(BookingStatus.WAITING).build());
+        Booking processed = bookingRepository.save(Booking.builder()
+                .item(item).booker(booker).start(start.plusDays(2)).end(start.plusDays(3))
+                .status(BookingStatus.APPROVED).build());
+        Booking foreign = bookingRepository.save(Booking.builder()
+                .item(strangerItem).booker(booker).start(start).end(start.plusDays(1))
+                .status(BookingStatus.WAITING).build());
+
+        List<BookingApprovalResultDto> results = bookingService.approveBookings(owner.getId(),
+                BookingBatchApprovalDto.builder()
+                        .bookingIds(List.of(waiting.getId(), processed.getId(), foreign.getId(), -1L, waiting.getId()))
+                        .approved(false)
+                        .build());
+
+        assertThat(results.size()).isEqualTo(4);
+        assertThat(results.get(0).getOutcome()).isEqualTo(BookingApprovalResultDto.Outcome.UPDATED);
+        assertThat(results.get(0).getStatus()).isEqualTo(BookingStatus.REJECTED);
+        assertThat(results.get(1).getOutcome()).isEqualTo(BookingApprovalResultDto.Outcome.ALREADY_PROCESSED);
+        assertThat(results.get(1).getStatus()).isEqualTo(BookingStatus.APPROVED);
+        assertThat(results.get(2).getOutcome()).isEqualTo(BookingApprovalResultDto.Outcome.FORBIDDEN);
+        assertThat(results.get(3).getOutcome()).isEqualTo(BookingApprovalResultDto.Outcome.NOT_FOUND);
+        assertThat(bookingRepository.findApprovalChecks(List.of(waiting.getId())).getFirst().status())
+                .isEqualTo(BookingStatus.REJECTED);
+        assertThat(bookingRepository.findApprovalChecks(List.of(foreign.getId())).getFirst().status())
+                .isEqualTo(BookingStatus.WAITING);
+    }
+
+    @Test
+    void approveBookings_shouldThrowConditionsNotMet_whenDecisionIsMissing() {
+        assertThatThrownBy(() -> bookingService.approveBookings(1L,
+                BookingBatchApprovalDto.builder().bookingIds(List.of(1L)).build()))
+                .isInstanceOf(ConditionsNotMetException.class);
+    }
+
     @Test
     void approveBooking_shouldThrowException_whenBookingAlreadyProcessed() {
         User owner = userRepository.save(User.builder()
@@ -270,13 +426,122 @@ class BookingServiceIntegrationTest {
                 .status(BookingStatus.APPROVED)
                 .build());
 
-        List<BookingRsDto> bookings = bookingService.getUserBookings(booker.getId(), BookingStatus.ALL);
+        List<BookingRsDto> bookings = bookingService.getUserBookings(booker.getId(), BookingStatus.ALL, 0, 10);
 
         assertThat(bookings.size()).isEqualTo(2);
         assertThat(bookings.get(0).getId()).isEqualTo(booking2.getId());
         assertThat(bookings.get(1).getId()).isEqualTo(booking1.getId());
     }
 
+    @Test
+    void getUserBookings_shouldReturnRequestedPage() {
+        User booker = userRepository.save(User.builder()
+                .name("Jane Doe")
+                .email("jane@example.com")
+                .build());
+
+        Item item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Powerful drill")
+                .available(true)
+                .owner(booker)
+                .build());
+
+        for (int i = 1; i <= 3; i++) {
+            bookingRepository.save(Booking.builder()
+                    .booker(booker)
+                    .item(item)
+                    .start(LocalDateTime.now().plusDays(i))
+                    .end(LocalDateTime.now().plusDays(i).plusHours(1))
+                    .status(BookingStatus.WAITING)
+                    .build());
+        }
+
+        List<BookingRsDto> firstPage = bookingService.getUserBookings(booker.getId(), BookingStatus.ALL, 0, 2);
+        List<BookingRsDto> secondPage = bookingService.getUserBookings(booker.getId(), BookingStatus.ALL, 2, 2);
+
+        assertThat(firstPage.size()).isEqualTo(2);
+        assertThat(secondPage.size()).isEqualTo(1);
+        assertThat(secondPage.getFirst().getStart()).isBefore(firstPage.get(1).getStart());
+    }
+
+    @Test
+    void getOwnerBookingsPage_shouldWalkAllBookingsByCursor() {
+        User owner = userRepository.save(User.builder()
+                .name("John Doe")
+                .email("john@example.com")
+                .build());
+
+        User booker = userRepository.save(User.builder()
+                .name("Jane Doe")
+                .email("jane@example.com")
+                .build());
+
+        Item item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Powerful drill")
+                .available(true)
+                .owner(owner)
+                .build());
+
+        Item otherItem = itemRepository.save(Item.builder()
+                .name("Hammer")
+                .description("Heavy hammer")
+                .available(true)
+                .owner(owner)
+                .build());
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        List<Long> savedIds = new ArrayList<>();
+        List<Item> items = List.of(item, otherItem, item);
+        List<LocalDateTime> starts = List.of(start, start, start.plusDays(1));
+        for (int i = 0; i < starts.size(); i++) {
+            LocalDateTime bookingStart = starts.get(i);
+            savedIds.add(bookingRepository.save(Booking.builder()
+                    .booker(booker)
+                    .item(items.get(i))
+                    .start(bookingStart)
+                    .end(bookingStart.plusHours(1))
+                    .status(BookingStatus.WAITING)
+                    .build()).getId());
+        }
+        List<Long> expectedIds = savedIds.reversed();
+
+        BookingPageDto firstPage = bookingService.getOwnerBookingsPage(owner.getId(), BookingStatus.ALL, "", 2);
+        BookingPageDto secondPage = bookingService.getOwnerBookingsPage(owner.getId(), BookingStatus.ALL,
+                firstPage.getNextCursor(), 2);
+
+        List<Long> actualIds = new ArrayList<>();
+        firstPage.getBookings().forEach(booking -> actualIds.add(booking.getId()));
+        secondPage.getBookings().forEach(booking -> actualIds.add(booking.getId()));
+
+        assertThat(firstPage.getNextCursor()).isNotNull();
+        assertThat(secondPage.getNextCursor()).isNull();
+        assertThat(actualIds).isEqualTo(expectedIds);
+    }
+
+    @Test
+    void getUserBookingsPage_shouldThrowException_whenCursorIsMalformed() {
+        User booker = userRepository.save(User.builder()
+                .name("Jane Doe")
+                .email("jane@example.com")
+                .build());
+
+        assertThatThrownBy(() -> bookingService.getUserBookingsPage(booker.getId(), BookingStatus.ALL, "not-a-cursor", 2))
+                .isInstanceOf(ConditionsNotMetException.class);
+    }
+
+    @Test
+    void getUserBookings_shouldThrowException_whenPageSizeIsNotPositive() {
+        User booker = userRepository.save(User.builder()
+                .name("Jane Doe")
+                .email("jane@example.com")
+                .build());
+
+        assertThatThrownBy(() -> bookingService.getUserBookings(booker.getId(), BookingStatus.ALL, 0, 0))
+                .isInstanceOf(ConditionsNotMetException.class);
+    }
+
     @Test
     void getUserBookings_shouldReturnEmptyList_whenNoBookings() {
         User booker = userRepository.save(User.builder()
@@ -284,7 +549,7 @@ class BookingServiceIntegrationTest {
                 .email("jane@example.com")
                 .build());
 
-        List<BookingRsDto> bookings = bookingService.getUserBookings(booker.getId(), BookingStatus.ALL);
+        List<BookingRsDto> bookings = bookingService.getUserBookings(booker.getId(), BookingStatus.ALL, 0, 10);
 
         assertThat(bookings.size()).isEqualTo(0);
     }
@@ -316,7 +581,7 @@ class BookingServiceIntegrationTest {
                 .status(BookingStatus.WAITING)
                 .build());
 
-        List<BookingRsDto> ownerBookings = bookingService.getOwnerBookings(owner.getId(), BookingStatus.ALL);
+        List<BookingRsDto> ownerBookings = bookingService.getOwnerBookings(owner.getId(), BookingStatus.ALL, 0, 10);
 
         assertThat(ownerBookings.size()).isEqualTo(1);
         assertThat(ownerBookings.getFirst().getId()).isEqualTo(booking.getId());
@@ -329,7 +594,7 @@ class BookingServiceIntegrationTest {
                 .email("john@example.com")
                 .build());
 
-        List<BookingRsDto> bookings = bookingService.getOwnerBookings(owner.getId(), BookingStatus.ALL);
+        List<BookingRsDto> bookings = bookingService.getOwnerBookings(owner.getId(), BookingStatus.ALL, 0, 10);
 
         assertThat(bookings.size()).isEqualTo(0);
     }
@@ -364,7 +629,7 @@ class BookingServiceIntegrationTest {
                 .status(BookingStatus.APPROVED)
                 .build());
 
-        List<BookingRsDto> waitingBookings = bookingService.getUserBookings(booker.getId(), BookingStatus.WAITING);
+        List<BookingRsDto> waitingBookings = bookingService.getUserBookings(booker.getId(), BookingStatus.WAITING, 0, 10);
 
         assertThat(waitingBookings.size()).isEqualTo(1);
         assertThat(waitingBookings.getFirst().getId()).isEqualTo(waitingBooking.getId());
@@ -405,7 +670,7 @@ class BookingServiceIntegrationTest {
                 .status(BookingStatus.REJECTED)
                 .build());
 
-        List<BookingRsDto> rejectedBookings = bookingService.getOwnerBookings(owner.getId(), BookingStatus.REJECTED);
+        List<BookingRsDto> rejectedBookings = bookingService.getOwnerBookings(owner.getId(), BookingStatus.REJECTED, 0, 10);
 
         assertThat(rejectedBookings.size()).isEqualTo(1);
         assertThat(rejectedBookings.getFirst().getId()).isEqualTo(rejectedBooking.getId());
@@ -457,11 +722,11 @@ class BookingServiceIntegrationTest {
                 .status(BookingStatus.CANCELLED)
                 .build());
 
-        List<BookingRsDto> waitingBookings = bookingService.getUserBookings(booker.getId(), BookingStatus.WAITING);
-        List<BookingRsDto> approvedBookings = bookingService.getUserBookings(booker.getId(), BookingStatus.APPROVED);
-        List<BookingRsDto> rejectedBookings = bookingService.getUserBookings(booker.getId(), BookingStatus.REJECTED);
-        List<BookingRsDto> cancelledBookings = bookingService.getUserBookings(booker.getId(), BookingStatus.CANCELLED);
-        List<BookingRsDto> allBookings = bookingService.getUserBookings(booker.getId(), BookingStatus.ALL);
+        List<BookingRsDto> waitingBookings = bookingService.getUserBookings(booker.getId(), BookingStatus.WAITING, 0, 10);
+        List<BookingRsDto> approvedBookings = bookingService.getUserBookings(booker.getId(), BookingStatus.APPROVED, 0, 10);
+        List<BookingRsDto> rejectedBookings = bookingService.getUserBookings(booker.getId(), BookingStatus.REJECTED, 0, 10);
+        List<BookingRsDto> cancelledBookings = bookingService.getUserBookings(booker.getId(), BookingStatus.CANCELLED, 0, 10);
+        List<BookingRsDto> allBookings = bookingService.getUserBookings(booker.getId(), BookingStatus.ALL, 0, 10);
 
         assertThat(waitingBookings.size()).isEqualTo(1);
         assertThat(waitingBookings.getFirst().getId()).isEqualTo(waitingBooking.getId());
@@ -508,7 +773,7 @@ class BookingServiceIntegrationTest {
                 .status(BookingStatus.APPROVED)
                 .build());
 
-        List<BookingRsDto> bookings = bookingService.getUserBookings(booker.getId(), BookingStatus.ALL);
+        List<BookingRsDto> bookings = bookingService.getUserBookings(booker.getId(), BookingStatus.ALL, 0, 10);
 
         assertThat(bookings.size()).isEqualTo(2);
         assertThat(bookings.get(0).getId()).isEqualTo(booking2.getId());
@@ -550,8 +815,8 @@ class BookingServiceIntegrationTest {
                 .status(BookingStatus.APPROVED)
                 .build());
 
-        List<BookingRsDto> waitingBookings = bookingService.getOwnerBookings(owner.getId(), BookingStatus.WAITING);
-        List<BookingRsDto> approvedBookings = bookingService.getOwnerBookings(owner.getId(), BookingStatus.APPROVED);
+        List<BookingRsDto> waitingBookings = bookingService.getOwnerBookings(owner.getId(), BookingStatus.WAITING, 0, 10);
+        List<BookingRsDto> approvedBookings = bookingService.getOwnerBookings(owner.getId(), BookingStatus.APPROVED, 0, 10);
 
         assertThat(waitingBookings.size()).isEqualTo(1);
         assertThat(waitingBookings.getFirst().getId()).isEqualTo(waitingBooking.getId());
@@ -595,7 +860,7 @@ class BookingServiceIntegrationTest {
                 .status(BookingStatus.APPROVED)
                 .build());
 
-        List<BookingRsDto> bookings = bookingService.getOwnerBookings(owner.getId(), BookingStatus.ALL);
+        List<BookingRsDto> bookings = bookingService.getOwnerBookings(owner.getId(), BookingStatus.ALL, 0, 10);
 
         assertThat(bookings.size()).isEqualTo(2);
         assertThat(bookings.get(0).getId()).isEqualTo(booking2.getId());
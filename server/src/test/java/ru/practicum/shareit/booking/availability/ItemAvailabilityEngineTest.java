@@ -0,0 +1,188 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.AvailabilityWindowDto;
+import ru.practicum.shareit.booking.dto.BookingPeriod;
+import ru.practicum.shareit.booking.dto.BookingRqDto;
+import ru.practicum.shareit.booking.dto.BookingRsDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.util.exception.ConditionsNotMetException;
+import ru.practicum.shareit.util.exception.DataConflictException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Календарь обновляется только после фиксации транзакции, поэтому тест не транзакционный.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+class ItemAvailabilityEngineTest {
+    private static final LocalDateTime FROM = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    private static final LocalDateTime TO = FROM.plusDays(10);
+
+    @Autowired
+    private ItemAvailabilityEngine availabilityEngine;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("John Doe").email("john@example.com").build());
+        booker = userRepository.save(User.builder().name("Jane Doe").email("jane@example.com").build());
+        item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Powerful drill")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getAvailability_shouldExcludeCreatedBooking() {
+        book(FROM.plusDays(2), FROM.plusDays(4));
+
+        List<AvailabilityWindowDto> windows = itemService.getAvailability(item.getId(), FROM, TO);
+
+        assertThat(windows).extracting(AvailabilityWindowDto::getStart, AvailabilityWindowDto::getEnd)
+                .containsExactly(
+                        tuple(FROM, FROM.plusDays(2)),
+                        tuple(FROM.plusDays(4), TO));
+    }
+
+    @Test
+    void getAvailability_shouldFreePeriod_whenBookingIsRejected() {
+        BookingRsDto booking = book(FROM.plusDays(2), FROM.plusDays(4));
+
+        bookingService.approveBooking(owner.getId(), booking.getId(), false);
+
+        assertThat(itemService.getAvailability(item.getId(), FROM, TO))
+                .extracting(AvailabilityWindowDto::getStart, AvailabilityWindowDto::getEnd)
+                .containsExactly(tuple(FROM, TO));
+    }
+
+    @Test
+    void getAvailability_shouldThrowConditionsNotMet_whenPeriodIsEmpty() {
+        assertThatThrownBy(() -> itemService.getAvailability(item.getId(), TO, FROM))
+                .isInstanceOf(ConditionsNotMetException.class);
+    }
+
+    @Test
+    void createBooking_shouldRejectOverlapFromCalendar() {
+        book(FROM.plusDays(2), FROM.plusDays(4));
+
+        assertThatThrownBy(() -> book(FROM.plusDays(3), FROM.plusDays(5)))
+                .isInstanceOf(DataConflictException.class);
+    }
+
+    @Test
+    void getAvailability_shouldFreePeriod_whenBookerIsDeleted() {
+        book(FROM.plusDays(2), FROM.plusDays(4));
+
+        userService.delete(booker.getId());
+
+        assertThat(itemService.getAvailability(item.getId(), FROM, TO))
+                .extracting(AvailabilityWindowDto::getStart, AvailabilityWindowDto::getEnd)
+                .containsExactly(tuple(FROM, TO));
+    }
+
+    @Test
+    void isBooked_shouldForgetItems_whenOwnerIsDeleted() {
+        book(FROM.plusDays(2), FROM.plusDays(4));
+
+        userService.delete(owner.getId());
+
+        assertThat(availabilityEngine.isBooked(item.getId(), FROM, TO)).isFalse();
+    }
+
+    @Test
+    void isBooked_shouldNotReadDatabase() {
+        BookingRepository repository = mock(BookingRepository.class);
+        ItemAvailabilityEngine engine = new ItemAvailabilityEngine(repository);
+        try {
+            engine.onBookingSaved(new BookingPeriod(1L, item.getId(), FROM.plusDays(1), FROM.plusDays(2)),
+                    BookingStatus.APPROVED);
+
+            assertThat(engine.isBooked(item.getId(), FROM, TO)).isTrue();
+            assertThat(engine.getFreeWindows(item.getId(), FROM, TO))
+                    .extracting(AvailabilityWindowDto::getStart, AvailabilityWindowDto::getEnd)
+                    .containsExactly(
+                            tuple(FROM, FROM.plusDays(1)),
+                            tuple(FROM.plusDays(2), TO));
+            verifyNoInteractions(repository);
+        } finally {
+            engine.destroy();
+        }
+    }
+
+    @Test
+    void warmUp_shouldLoadActiveBookingsFromDatabase() {
+        bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(FROM.plusDays(1))
+                .end(FROM.plusDays(2))
+                .status(BookingStatus.APPROVED)
+                .build());
+
+        availabilityEngine.warmUp();
+
+        assertThat(availabilityEngine.isBooked(item.getId(), FROM, TO)).isTrue();
+    }
+
+    private BookingRsDto book(LocalDateTime start, LocalDateTime end) {
+        return bookingService.createBooking(booker.getId(), BookingRqDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(end)
+                .build());
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemCalendarTest {
+
+    @Test
+    void freeWindows_shouldReturnGapsBetweenBookings() {
+        ItemCalendar calendar = ItemCalendar.EMPTY
+                .with(1, 10, 20)
+                .with(2, 30, 40);
+
+        assertThat(calendar.freeWindows(0, 50))
+                .containsExactly(new long[]{0, 10}, new long[]{20, 30}, new long[]{40, 50});
+    }
+
+    @Test
+    void freeWindows_shouldMergeNestedAndAdjacentBookings() {
+        ItemCalendar calendar = ItemCalendar.EMPTY
+                .with(1, 10, 100)
+                .with(2, 20, 30)
+                .with(3, 100, 110);
+
+        assertThat(calendar.freeWindows(0, 200))
+                .containsExactly(new long[]{0, 10}, new long[]{110, 200});
+    }
+
+    @Test
+    void freeWindows_shouldReturnWholeInterval_whenCalendarIsEmpty() {
+        assertThat(ItemCalendar.EMPTY.freeWindows(5, 15)).containsExactly(new long[]{5, 15});
+    }
+
+    @Test
+    void overlapping_shouldFindBookingsIntersectingInterval() {
+        ItemCalendar calendar = ItemCalendar.EMPTY
+                .with(1, 0, 100)
+                .with(2, 10, 20)
+                .with(3, 50, 60)
+                .with(4, 70, 80);
+
+        assertThat(calendar.overlapping(55, 75)).containsExactly(1, 3, 4);
+        assertThat(calendar.overlapping(20, 50)).containsExactly(1);
+        assertThat(calendar.overlapping(100, 200)).isEmpty();
+    }
+
+    @Test
+    void with_shouldReplacePreviousPeriodOfBooking() {
+        ItemCalendar calendar = ItemCalendar.EMPTY
+                .with(1, 10, 20)
+                .with(1, 30, 40);
+
+        assertThat(calendar.size()).isEqualTo(1);
+        assertThat(calendar.overlapping(10, 20)).isEmpty();
+        assertThat(calendar.overlapping(30, 40)).containsExactly(1);
+    }
+
+    @Test
+    void without_shouldFreePeriodOfBooking() {
+        ItemCalendar booked = ItemCalendar.EMPTY.with(1, 10, 20);
+
+        ItemCalendar calendar = booked.without(1);
+
+        assertThat(calendar.size()).isZero();
+        assertThat(calendar.freeWindows(0, 30)).containsExactly(new long[]{0, 30});
+        assertThat(booked.size()).isEqualTo(1);
+    }
+
+    @Test
+    void withoutEndedBy_shouldDropEndedBookingsOnly() {
+        ItemCalendar calendar = ItemCalendar.EMPTY
+                .with(1, 0, 10)
+                .with(2, 5, 30)
+                .with(3, 10, 20);
+
+        ItemCalendar pruned = calendar.withoutEndedBy(20);
+
+        assertThat(pruned.size()).isEqualTo(1);
+        assertThat(pruned.overlapping(0, 100)).containsExactly(2);
+        assertThat(pruned.withoutEndedBy(20)).isSameAs(pruned);
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.booking.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.booking.export.BookingExportService;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.util.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class BookingStatusNotifierTest {
+    private BookingStatusNotifier notifier;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        notifier = new BookingStatusNotifier(new BookingEventsProperties(3, 2, 8, 1, Duration.ofMinutes(1),
+                Duration.ofMinutes(1), Duration.ofSeconds(3)), new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(new BookingController(mock(BookingService.class), notifier,
+                        mock(BookingExportService.class)))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        notifier.destroy();
+    }
+
+    @Test
+    void onStatusChanged_shouldPushEventToBookerAndOwnerOnly() throws Exception {
+        MvcResult booker = subscribe(1L);
+        MvcResult owner = subscribe(2L);
+        MvcResult stranger = subscribe(3L);
+
+        notifier.onStatusChanged(new BookingStatusEventDto(10L, 20L, BookingStatus.APPROVED), 1L, 2L);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(booker.getResponse().getContentAsString())
+                    .contains("event:booking-status")
+                    .contains("\"bookingId\":10")
+                    .contains("\"status\":\"APPROVED\"");
+            assertThat(owner.getResponse().getContentAsString()).contains("\"bookingId\":10");
+        });
+        assertThat(stranger.getResponse().getContentAsString()).doesNotContain("booking-status");
+        assertThat(booker.getResponse().getContentType()).startsWith("text/event-stream");
+    }
+
+    @Test
+    void subscribe_shouldRejectConnectionsOverLimits() throws Exception {
+        subscribe(1L);
+        subscribe(1L);
+
+        assertThatThrownBy(() -> notifier.subscribe(1L))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessageContaining("id=1");
+
+        subscribe(2L);
+        assertThatThrownBy(() -> notifier.subscribe(3L))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(notifier.connections()).isEqualTo(3);
+    }
+
+    private MvcResult subscribe(long userId) throws Exception {
+        return mockMvc.perform(get("/bookings/events").header("X-Sharer-User-Id", userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.booking.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.exception.NotFoundException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@Transactional
+class BookingExportServiceTest {
+
+    @Autowired
+    private BookingExportService bookingExportService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void export_shouldWriteBookingsAsBookerAndOwnerOnePerLine() throws Exception {
+        User user = userRepository.save(User.builder().name("John Doe").email("john@example.com").build());
+        User other = userRepository.save(User.builder().name("Jane Doe").email("jane@example.com").build());
+        Item ownItem = itemRepository.save(Item.builder()
+                .name("Дрель").description("Ударная").available(true).owner(user).build());
+        Item otherItem = itemRepository.save(Item.builder()
+                .name("Пила").description("Цепная").available(true).owner(other).build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking asBooker = save(otherItem, user, start, BookingStatus.APPROVED);
+        Booking asOwner = save(ownItem, other, start.plusDays(5), BookingStatus.WAITING);
+        save(otherItem, other, start.plusDays(10), BookingStatus.WAITING);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        bookingExportService.export(user.getId(), output);
+
+        String body = output.toString(StandardCharsets.UTF_8);
+        assertThat(body).endsWith("\n");
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0).get("id").asLong()).isEqualTo(asOwner.getId());
+        assertThat(lines.get(0).get("status").asText()).isEqualTo("WAITING");
+        assertThat(lines.get(0).get("item").get("name").asText()).isEqualTo("Дрель");
+        assertThat(lines.get(0).get("booker").get("id").asLong()).isEqualTo(other.getId());
+        assertThat(lines.get(1).get("id").asLong()).isEqualTo(asBooker.getId());
+        assertThat(lines.get(1).get("booker").get("name").asText()).isEqualTo("John Doe");
+    }
+
+    @Test
+    void export_shouldMergeBookerAndOwnerBookingsInOrderWithoutDuplicates() throws Exception {
+        User user = userRepository.save(User.builder().name("John Doe").email("john@example.com").build());
+        User other = userRepository.save(User.builder().name("Jane Doe").email("jane@example.com").build());
+        Item ownItem = itemRepository.save(Item.builder()
+                .name("Дрель").description("Ударная").available(true).owner(user).build());
+        Item otherItem = itemRepository.save(Item.builder()
+                .name("Пила").description("Цепная").available(true).owner(other).build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        Booking first = save(otherItem, user, start, BookingStatus.APPROVED);
+        Booking second = save(ownItem, other, start.plusDays(3), BookingStatus.APPROVED);
+        Booking sameStartAsBooker = save(otherItem, user, start.plusDays(6), BookingStatus.WAITING);
+        Booking sameStartAsOwner = save(ownItem, other, start.plusDays(6), BookingStatus.WAITING);
+        Booking ownItemByOwner = save(ownItem, user, start.plusDays(9), BookingStatus.WAITING);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        bookingExportService.export(user.getId(), output);
+
+        List<Long> ids = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            ids.add(objectMapper.readTree(line).get("id").asLong());
+        }
+        assertThat(ids).containsExactly(ownItemByOwner.getId(), sameStartAsOwner.getId(),
+                sameStartAsBooker.getId(), second.getId(), first.getId());
+    }
+
+    @Test
+    void export_shouldThrowNotFoundBeforeWriting_whenUserIsUnknown() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        assertThatThrownBy(() -> bookingExportService.export(999L, output))
+                .isInstanceOf(NotFoundException.class);
+        assertThat(output.size()).isZero();
+    }
+
+    private Booking save(Item item, User booker, LocalDateTime start, BookingStatus status) {
+        return bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(start.plusDays(2))
+                .status(status)
+                .build());
+    }
+}
@@ -10,6 +10,8 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.practicum.shareit.comment.CommentDto;
+import ru.practicum.shareit.item.importer.ItemImportResultDto;
+import ru.practicum.shareit.item.importer.ItemImportService;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.item.service.ItemService;
 
@@ -26,6 +28,9 @@ public class ItemControllerTest {
     @Mock
     private ItemService itemService;
 
+    @Mock
+    private ItemImportService itemImportService;
+
     @InjectMocks
     private ItemController itemController;
 
@@ -142,7 +147,7 @@ public class ItemControllerTest {
                 .owner(owner)
                 .build();
 
-        when(itemService.getUserItems(1L)).thenReturn(Collections.singletonList(itemDto));
+        when(itemService.getUserItems(1L, 0, 10)).thenReturn(Collections.singletonList(itemDto));
 
         mockMvc.perform(get("/items")
                         .header("X-Sharer-User-Id", 1L))
@@ -150,7 +155,7 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[0].id").value(itemDto.getId()))
                 .andExpect(jsonPath("$[0].name").value(itemDto.getName()));
 
-        verify(itemService, times(1)).getUserItems(1L);
+        verify(itemService, times(1)).getUserItems(1L, 0, 10);
     }
 
     @Test
@@ -169,7 +174,7 @@ public class ItemControllerTest {
                 .owner(owner)
                 .build();
 
-        when(itemService.searchItems("drill")).thenReturn(Collections.singletonList(itemDto));
+        when(itemService.searchItems("drill", 0, 10)).thenReturn(Collections.singletonList(itemDto));
 
         mockMvc.perform(get("/items/search")
                         .param("text", "drill"))
@@ -177,7 +182,7 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[0].id").value(itemDto.getId()))
                 .andExpect(jsonPath("$[0].name").value(itemDto.getName()));
 
-        verify(itemService, times(1)).searchItems("drill");
+        verify(itemService, times(1)).searchItems("drill", 0, 10);
     }
 
     @Test
@@ -200,4 +205,25 @@ public class ItemControllerTest {
 
         verify(itemService, times(1)).addComment(anyLong(), anyLong(), any(CommentDto.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldImportItemsFromNdjson() throws Exception {
+        ItemImportResultDto result = ItemImportResultDto.builder()
+                .imported(2)
+                .failed(0)
+                .errors(Collections.emptyList())
+                .build();
+
+        when(itemImportService.importNdjson(anyLong(), any())).thenReturn(result);
+
+        mockMvc.perform(post("/items/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .header("X-Sharer-User-Id", 1L)
+                        .content("{\"name\":\"Drill\"}\n{\"name\":\"Saw\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2));
+
+        verify(itemImportService, times(1)).importNdjson(anyLong(), any());
+        verify(itemImportService, never()).importArray(anyLong(), any());
+    }
+}
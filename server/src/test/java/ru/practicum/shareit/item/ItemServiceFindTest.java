@@ -5,18 +5,34 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.SearchQuery;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.util.pagination.PageRequestFactory;
 
 
 import java.util.List;
+import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.assertj.core.api.Assertions.assertThat;
 
 class ItemServiceFindTest {
 
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
     @Mock
-    private ItemRepository itemRepository;
+    private ItemSearchEngine itemSearchEngine;
+
+    @Spy
+    private PageRequestFactory pageRequestFactory = new PageRequestFactory(100);
 
     @InjectMocks
     private ItemServiceImpl itemService;
@@ -28,23 +44,34 @@ class ItemServiceFindTest {
 
     @Test
     void searchItems_shouldReturnItems() {
-        Item item1 = Item.builder()
-                .name("Item One")
-                .description("Description One")
-                .available(true)
-                .build();
-
-        Item item2 = Item.builder()
-                .name("Item Two")
-                .description("Description Two")
-                .available(true)
-                .build();
-
-        when(itemRepository.findAvailableItemsByNameOrDescription("Item"))
+        ItemView item1 = itemView(1L, "Item One", "Description One");
+        ItemView item2 = itemView(2L, "Item Two", "Description Two");
+
+        when(itemSearchEngine.search(eq(SearchQuery.parse("Item")), any(Pageable.class)))
                 .thenReturn(List.of(item1, item2));
 
-        var items = itemService.searchItems("Item");
+        var items = itemService.searchItems("Item", 0, 10);
 
         assertThat(items).hasSize(2);
+        assertThat(items).extracting(ItemDto::getName).containsExactly("Item One", "Item Two");
+    }
+
+    @Test
+    void searchItems_shouldNotQuery_whenTextHasNoWords() {
+        var items = itemService.searchItems(" ,.! ", 0, 10);
+
+        assertThat(items).isEmpty();
+        verifyNoInteractions(itemSearchEngine);
+    }
+
+    private static ItemView itemView(Long id, String name, String description) {
+        return PROJECTIONS.createProjection(ItemView.class, Map.of(
+                "id", id,
+                "name", name,
+                "description", description,
+                "available", true,
+                "ownerId", 1L,
+                "ownerName", "John Doe",
+                "ownerEmail", "john@example.com"));
     }
 }
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -19,6 +21,7 @@ import ru.practicum.shareit.util.exception.NotFoundException;
 import ru.practicum.shareit.util.exception.UnauthorizedException;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -37,6 +40,8 @@ class ItemServiceIntegrationTest {
     private ItemRequestService itemRequestService;
     @Autowired
     private BookingRepository bookingRepository;
+    @Autowired
+    private EntityManager entityManager;
 
 
     @Test
@@ -184,9 +189,53 @@ class ItemServiceIntegrationTest {
         assertThat(exception.getMessage()).contains("Вещь с id=999 не найдена");
     }
 
+    @Test
+    void searchItems_shouldMatchAllWordsAndPrefixesAndRankNameMatchesFirst() {
+        User owner = userRepository.save(User.builder()
+                .name("John Doe")
+                .email("john@example.com")
+                .build());
+        Item inDescription = saveItem(owner, "Набор инструментов", "Аккумуляторная дрель и биты", true);
+        Item inName = saveItem(owner, "Дрель аккумуляторная", "Лёгкая и мощная", true);
+        saveItem(owner, "Дрель сетевая", "Ударная", true);
+        saveItem(owner, "Дрель аккумуляторная", "На ремонте", false);
+
+        var items = itemService.searchItems("дРелЬ аккум", 0, 10);
+
+        assertThat(items).extracting(ItemDto::getId).containsExactly(inName.getId(), inDescription.getId());
+    }
+
+    @Test
+    void searchItems_shouldMatchWordPrefixesOnly() {
+        User owner = userRepository.save(User.builder()
+                .name("John Doe")
+                .email("john@example.com")
+                .build());
+        Item drill = saveItem(owner, "Дрель", "Аккумуляторная", true);
+
+        assertThat(itemService.searchItems("рель", 0, 10)).isEmpty();
+        assertThat(itemService.searchItems("умулятор", 0, 10)).isEmpty();
+        assertThat(itemService.searchItems("акк", 0, 10)).extracting(ItemDto::getId).containsExactly(drill.getId());
+    }
+
+    @Test
+    void searchItems_shouldPageRankedResults() {
+        User owner = userRepository.save(User.builder()
+                .name("John Doe")
+                .email("john@example.com")
+                .build());
+        saveItem(owner, "Отвёртка", "Дрель не нужна", true);
+        saveItem(owner, "Дрель", "Ударная", true);
+        Item second = saveItem(owner, "Дрель", "Сетевая", true);
+
+        var items = itemService.searchItems("дрель", 1, 1);
+
+        assertThat(items).extracting(ItemDto::getId).containsExactly(second.getId());
+    }
+
     @Test
     void searchItems_shouldReturnEmptyList_whenNoMatch() {
-        var items = itemService.searchItems("Non Existent");
+        var items = itemService.searchItems("Non Existent", 0, 10);
 
         assertThat(items).isEmpty();
     }
@@ -212,12 +261,67 @@ class ItemServiceIntegrationTest {
                 .owner(owner)
                 .build());
 
-        var items = itemService.getUserItems(owner.getId());
+        var items = itemService.getUserItems(owner.getId(), 0, 10);
 
         assertThat(items).hasSize(2);
         assertThat(items).extracting("name").containsExactlyInAnyOrder("Drill", "Hammer");
     }
 
+    @Test
+    void getUserItems_shouldNotLoadItemEntitiesIntoPersistenceContext() {
+        User owner = userRepository.save(User.builder()
+                .name("John Doe")
+                .email("john@example.com")
+                .build());
+        itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Powerful drill")
+                .available(true)
+                .owner(owner)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        var items = itemService.getUserItems(owner.getId(), 0, 10);
+
+        assertThat(items).singleElement()
+                .satisfies(item -> assertThat(item.getOwner().getEmail()).isEqualTo("john@example.com"));
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void getUserItems_shouldReturnLastAndNextBookingIgnoringRejectedAndCancelled() {
+        User owner = userRepository.save(User.builder()
+                .name("John Doe")
+                .email("john@example.com")
+                .build());
+        User booker = userRepository.save(User.builder()
+                .name("Jane Doe")
+                .email("jane@example.com")
+                .build());
+        Item item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Powerful drill")
+                .available(true)
+                .owner(owner)
+                .build());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        saveBooking(item, booker, now.minusDays(5), BookingStatus.APPROVED);
+        saveBooking(item, booker, now.minusDays(3), BookingStatus.APPROVED);
+        saveBooking(item, booker, now.minusDays(3), BookingStatus.REJECTED);
+        saveBooking(item, booker, now.minusDays(1), BookingStatus.REJECTED);
+        saveBooking(item, booker, now.plusDays(1), BookingStatus.CANCELLED);
+        saveBooking(item, booker, now.plusDays(2), BookingStatus.WAITING);
+        saveBooking(item, booker, now.plusDays(4), BookingStatus.APPROVED);
+
+        var items = itemService.getUserItems(owner.getId(), 0, 10);
+
+        assertThat(items).singleElement().satisfies(dto -> {
+            assertThat(dto.getLastBooking()).isEqualTo(now.minusDays(3));
+            assertThat(dto.getNextBooking()).isEqualTo(now.plusDays(2));
+        });
+    }
+
     @Test
     void getUserItems_shouldReturnEmptyList_whenUserHasNoItems() {
         User user = userRepository.save(User.builder()
@@ -225,7 +329,7 @@ class ItemServiceIntegrationTest {
                 .email("jane@example.com")
                 .build());
 
-        var items = itemService.getUserItems(user.getId());
+        var items = itemService.getUserItems(user.getId(), 0, 10);
 
         assertThat(items).isEmpty();
     }
@@ -354,4 +458,22 @@ class ItemServiceIntegrationTest {
         assertThat(savedItem.getRequestId()).isEqualTo(savedRequest.getId());
     }
 
-}
\ No newline at end of file
+    private Item saveItem(User owner, String name, String description, boolean available) {
+        return itemRepository.save(Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build());
+    }
+
+    private void saveBooking(Item item, User booker, LocalDateTime start, BookingStatus status) {
+        bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(start.plusHours(12))
+                .status(status)
+                .build());
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.item.importer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Сравнивает создание вещей по одной через {@link ItemService#addItem} с пакетной загрузкой NDJSON
+ * и замеряет загрузку 1 000 000 вещей. Тело запроса генерируется потоком, без строки в памяти.
+ * Запуск: {@code mvn test -pl server -Dtest=ItemImportBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@SpringBootTest
+@AutoConfigureTestDatabase
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ItemImportBenchmarkTest {
+    private static final int ONE_BY_ONE = 10_000;
+    private static final int BULK = 1_000_000;
+
+    @Autowired
+    private ItemImportService itemImportService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void importNdjson_shouldLoadMillionItems() {
+        User owner = userRepository.save(User.builder().name("Rental shop").email("shop@example.com").build());
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < ONE_BY_ONE; i++) {
+            itemService.addItem(owner.getId(), ItemDto.builder()
+                    .name("Item " + i)
+                    .description("Description " + i)
+                    .available(true)
+                    .build());
+        }
+        double oneByOneMillis = (System.nanoTime() - startedAt) / 1e6;
+
+        startedAt = System.nanoTime();
+        ItemImportResultDto result = itemImportService.importNdjson(owner.getId(), new NdjsonStream(BULK));
+        double bulkMillis = (System.nanoTime() - startedAt) / 1e6;
+
+        log.info("addItem: {} вещей за {} мс ({} вещей/с)",
+                ONE_BY_ONE, Math.round(oneByOneMillis), Math.round(ONE_BY_ONE / oneByOneMillis * 1000));
+        log.info("Пакетная загрузка: {} вещей за {} мс ({} вещей/с)",
+                BULK, Math.round(bulkMillis), Math.round(BULK / bulkMillis * 1000));
+        assertThat(result.getImported()).isEqualTo(BULK);
+        assertThat(result.getFailed()).isZero();
+    }
+
+    /**
+     * Строки NDJSON, которые генерируются по мере чтения.
+     */
+    private static final class NdjsonStream extends InputStream {
+        private final int rows;
+        private int row;
+        private byte[] line = new byte[0];
+        private int position;
+
+        NdjsonStream(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read() {
+            if (position == line.length) {
+                if (row == rows) {
+                    return -1;
+                }
+                line = ("{\"name\":\"Item " + row + "\",\"description\":\"Description " + row
+                        + "\",\"available\":true}\n").getBytes(StandardCharsets.UTF_8);
+                position = 0;
+                row++;
+            }
+            return line[position++] & 0xFF;
+        }
+    }
+}
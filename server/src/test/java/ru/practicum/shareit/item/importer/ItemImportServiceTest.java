@@ -0,0 +1,177 @@
+package ru.practicum.shareit.item.importer;
+
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemView;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.exception.ConditionsNotMetException;
+import ru.practicum.shareit.util.exception.NotFoundException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = "shareit.item-import.batch-size=2")
+@AutoConfigureTestDatabase
+@Transactional
+class ItemImportServiceTest {
+
+    @Autowired
+    private ItemImportService itemImportService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("John Doe").email("john@example.com").build());
+    }
+
+    @Test
+    void importNdjson_shouldInsertValidRowsAndReportInvalidOnes() {
+        ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                .description("Нужна дрель")
+                .requester(owner)
+                .timestamp(LocalDateTime.now())
+                .build());
+        String body = lines(
+                "{\"name\": \"Дрель\", \"description\": \"Ударная\", \"available\": true, \"requestId\": "
+                        + request.getId() + "}",
+                "{\"name\": \"Пила\", \"description\": \"Ручная\", \"available\": false}",
+                "",
+                "{\"name\": \"Молоток\", \"description\":",
+                "{\"name\": \"\", \"description\": \"Без названия\", \"available\": true}",
+                "{\"name\": \"Отвёртка\", \"description\": \"Крестовая\", \"available\": true, \"requestId\": 999999}",
+                "{\"name\": \"Рубанок\", \"description\": \"Столярный\", \"available\": true}");
+
+        ItemImportResultDto result = itemImportService.importNdjson(owner.getId(), stream(body));
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(ItemImportErrorDto::getRow).containsExactly(4L, 5L, 6L);
+        assertThat(result.getErrors().get(2).getMessage()).contains("999999");
+        assertThat(itemRepository.findViewsByOwnerId(owner.getId(), Pageable.unpaged()))
+                .extracting(ItemView::getName, ItemView::getRequestId)
+                .containsExactlyInAnyOrder(
+                        tuple("Дрель", request.getId()),
+                        tuple("Пила", null),
+                        tuple("Рубанок", null));
+    }
+
+    @Test
+    void importArray_shouldReportElementsThatCannotBeBound() {
+        String body = lines(
+                "[",
+                "  {\"name\": \"Дрель\", \"description\": \"Ударная\", \"available\": true},",
+                "  {\"name\": \"Пила\", \"description\": \"Ручная\", \"available\": {\"yes\": 1}},",
+                "  {\"name\": \"Рубанок\", \"description\": \"Столярный\", \"available\": true}",
+                "]");
+
+        ItemImportResultDto result = itemImportService.importArray(owner.getId(), stream(body));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(ItemImportErrorDto::getRow).containsExactly(2L);
+    }
+
+    @Test
+    void importArray_shouldKeepRowsReadBeforeSyntaxError() {
+        String body = lines(
+                "[",
+                "  {\"name\": \"Дрель\", \"description\": \"Ударная\", \"available\": true},",
+                "  {\"name\": \"Пила\", \"description\": \"Ручная\", \"available\": true},",
+                "  {\"name\": \"Рубанок\", \"description\"");
+
+        ItemImportResultDto result = itemImportService.importArray(owner.getId(), stream(body));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(ItemImportErrorDto::getRow).containsExactly(3L);
+    }
+
+    @Test
+    void importNdjson_shouldReportReadError_whenBodyBreaksMidStream() {
+        byte[] head = lines(
+                "{\"name\": \"Дрель\", \"description\": \"Ударная\", \"available\": true}",
+                "{\"name\": \"Пила\", \"description\": \"Ручная\", \"available\": true}",
+                "").getBytes(StandardCharsets.UTF_8);
+        InputStream broken = new SequenceInputStream(new ByteArrayInputStream(head), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        });
+
+        ItemImportResultDto result = itemImportService.importNdjson(owner.getId(), broken);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getReadError()).contains("строки 2", "Connection reset");
+        assertThat(itemRepository.findViewsByOwnerId(owner.getId(), Pageable.unpaged())).hasSize(2);
+    }
+
+    /**
+     * Пакет должен откатываться целиком, поэтому тест идёт без общей транзакции и удаляет данные сам.
+     */
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    void importNdjson_shouldRetryRejectedBatchRowByRow() {
+        try {
+            String body = lines(
+                    "{\"name\": \"Дрель\", \"description\": \"Ударная\", \"available\": true}",
+                    "{\"name\": \"" + "Пила".repeat(100) + "\", \"description\": \"Ручная\", \"available\": true}",
+                    "{\"name\": \"Рубанок\", \"description\": \"Столярный\", \"available\": true}");
+
+            ItemImportResultDto result = itemImportService.importNdjson(owner.getId(), stream(body));
+
+            assertThat(result.getImported()).isEqualTo(2);
+            assertThat(result.getErrors()).extracting(ItemImportErrorDto::getRow).containsExactly(2L);
+            assertThat(itemRepository.findViewsByOwnerId(owner.getId(), Pageable.unpaged()))
+                    .extracting(ItemView::getName)
+                    .containsExactlyInAnyOrder("Дрель", "Рубанок");
+        } finally {
+            userRepository.deleteById(owner.getId());
+        }
+    }
+
+    @Test
+    void importArray_shouldThrowConditionsNotMet_whenBodyIsNotArray() {
+        assertThatThrownBy(() -> itemImportService.importArray(owner.getId(), stream("{\"name\": \"Дрель\"}")))
+                .isInstanceOf(ConditionsNotMetException.class);
+    }
+
+    @Test
+    void importNdjson_shouldThrowNotFound_whenOwnerDoesNotExist() {
+        assertThatThrownBy(() -> itemImportService.importNdjson(-1L, stream("")))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    private static String lines(String... lines) {
+        return String.join("\n", lines);
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Сам запрос по GIN-индексу выполняется только в PostgreSQL; здесь проверяется, что движок передаёт
+ * в него tsquery, построенный из запроса пользователя, и страницу без изменений.
+ */
+class FullTextItemSearchEngineTest {
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final FullTextItemSearchEngine searchEngine = new FullTextItemSearchEngine(itemRepository);
+
+    @Test
+    void search_shouldQueryRepositoryWithPrefixTsQuery() {
+        Pageable pageable = PageRequest.of(2, 5);
+        when(itemRepository.searchAvailableByTsQuery("дрель:* & аккум:*", pageable)).thenReturn(List.of());
+
+        assertThat(searchEngine.search(SearchQuery.parse("Дрель, АККУМ!"), pageable)).isEmpty();
+
+        verify(itemRepository).searchAvailableByTsQuery("дрель:* & аккум:*", pageable);
+    }
+}
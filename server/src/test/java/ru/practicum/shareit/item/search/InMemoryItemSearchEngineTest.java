@@ -0,0 +1,130 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemView;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "shareit.search.engine=memory")
+@AutoConfigureTestDatabase
+class InMemoryItemSearchEngineTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private InMemoryItemSearchEngine searchEngine;
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+        searchEngine.rebuild();
+    }
+
+    @Test
+    void searchItems_shouldFindItemsAddedAndUpdatedThroughService() {
+        User owner = userRepository.save(User.builder().name("John Doe").email("john@example.com").build());
+        ItemDto drill = itemService.addItem(owner.getId(), ItemDto.builder()
+                .name("Дрель аккумуляторная")
+                .description("Лёгкая")
+                .available(true)
+                .build());
+        ItemDto saw = itemService.addItem(owner.getId(), ItemDto.builder()
+                .name("Пила")
+                .description("Для аккумуляторной дрели нужна зарядка")
+                .available(true)
+                .build());
+
+        assertThat(itemService.searchItems("аккум", 0, 10))
+                .extracting(ItemDto::getId)
+                .containsExactly(drill.getId(), saw.getId());
+
+        itemService.updateItem(owner.getId(), ItemDto.builder().id(drill.getId()).available(false).build());
+
+        assertThat(itemService.searchItems("аккум", 0, 10))
+                .extracting(ItemDto::getId)
+                .containsExactly(saw.getId());
+    }
+
+    @Test
+    void rebuild_shouldIndexAvailableItemsFromDatabase() {
+        User owner = userRepository.save(User.builder().name("John Doe").email("john@example.com").build());
+        Item drill = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Сетевая")
+                .available(true)
+                .owner(owner)
+                .build());
+        itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("На ремонте")
+                .available(false)
+                .owner(owner)
+                .build());
+
+        searchEngine.rebuild();
+
+        assertThat(itemService.searchItems("дрель", 0, 10))
+                .singleElement()
+                .satisfies(item -> {
+                    assertThat(item.getId()).isEqualTo(drill.getId());
+                    assertThat(item.getOwner().getEmail()).isEqualTo("john@example.com");
+                });
+    }
+
+    @Test
+    void searchItems_shouldDropItemsDeletedWithTheirOwner() {
+        User owner = userRepository.save(User.builder().name("John Doe").email("john@example.com").build());
+        User other = userRepository.save(User.builder().name("Jane Doe").email("jane@example.com").build());
+        itemService.addItem(owner.getId(), ItemDto.builder().name("Дрель").description("Сетевая").available(true).build());
+        ItemDto kept = itemService.addItem(other.getId(), ItemDto.builder()
+                .name("Дрель")
+                .description("Ударная")
+                .available(true)
+                .build());
+
+        userService.delete(owner.getId());
+
+        assertThat(itemService.searchItems("дрель", 0, 1))
+                .extracting(ItemDto::getId)
+                .containsExactly(kept.getId());
+    }
+
+    @Test
+    void search_shouldQueryDatabase_untilFirstIndexIsBuilt() {
+        User owner = userRepository.save(User.builder().name("John Doe").email("john@example.com").build());
+        Item drill = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Сетевая")
+                .available(true)
+                .owner(owner)
+                .build());
+        InMemoryItemSearchEngine notBuilt = new InMemoryItemSearchEngine(itemRepository);
+
+        assertThat(notBuilt.search(SearchQuery.parse("дрель"), PageRequest.of(0, 10)))
+                .extracting(ItemView::getId)
+                .containsExactly(drill.getId());
+    }
+}
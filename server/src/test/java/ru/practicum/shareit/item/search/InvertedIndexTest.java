@@ -0,0 +1,97 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+    private final InvertedIndex index = new InvertedIndex();
+
+    @Test
+    void search_shouldMatchAllWordsAsPrefixes() {
+        index.put(1, "Дрель аккумуляторная", "Лёгкая", true);
+        index.put(2, "Дрель сетевая", "Ударная", true);
+        index.put(3, "Отвёртка", "Аккумуляторная", true);
+
+        assertThat(index.search(SearchQuery.parse("ДРЕ акку"))).containsExactly(1);
+    }
+
+    @Test
+    void search_shouldRankNameMatchesFirstThenById() {
+        index.put(1, "Набор", "Дрель и биты", true);
+        index.put(2, "Дрель", "Сетевая", true);
+        index.put(3, "Дрель", "Ударная", true);
+
+        assertThat(index.search(SearchQuery.parse("дрель"))).containsExactly(2, 3, 1);
+    }
+
+    @Test
+    void put_shouldReplacePreviousTextOfItem() {
+        index.put(1, "Дрель", "Сетевая", true);
+        index.put(1, "Пила", "Сетевая", true);
+
+        assertThat(index.search(SearchQuery.parse("дрель"))).isEmpty();
+        assertThat(index.search(SearchQuery.parse("пила"))).containsExactly(1);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void put_shouldRemoveItem_whenItBecomesUnavailable() {
+        index.put(1, "Дрель", "Сетевая", true);
+        index.put(1, "Дрель", "Сетевая", false);
+
+        assertThat(index.search(SearchQuery.parse("дрель"))).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void put_shouldKeepPostingsSorted_whenIdsArriveOutOfOrder() {
+        index.put(30, "Дрель", null, true);
+        index.put(10, "Дрель", null, true);
+        index.put(20, "Дрель", null, true);
+        index.remove(10);
+
+        assertThat(index.search(SearchQuery.parse("дрель"))).containsExactly(20, 30);
+    }
+
+    @Test
+    void put_shouldKeepIdsAboveIntRange() {
+        long large = Integer.MAX_VALUE + 10L;
+        index.put(large, "Дрель", null, true);
+        index.put(large + 1, "Набор", "Дрель", true);
+        index.put(1, "Набор", "Дрель", true);
+
+        assertThat(index.search(SearchQuery.parse("дрель"))).containsExactly(large, 1, large + 1);
+
+        index.remove(large);
+
+        assertThat(index.search(SearchQuery.parse("дрель"))).containsExactly(1, large + 1);
+    }
+
+    @Test
+    void search_shouldUnionAllWordsWithPrefix() {
+        index.put(3, "Дрель", null, true);
+        index.put(1, "Дрели", null, true);
+        index.put(2, "Дрелька", "Дрель", true);
+
+        assertThat(index.search(SearchQuery.parse("дрел"))).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void remove_shouldKeepOtherItems_whenManyItemsAreIndexed() {
+        for (long id = 1; id <= 1000; id++) {
+            index.put(id * 31, "Дрель " + id, null, true);
+        }
+        for (long id = 1; id <= 1000; id += 2) {
+            index.remove(id * 31);
+        }
+
+        assertThat(index.size()).isEqualTo(500);
+        assertThat(index.search(SearchQuery.parse("дрель")))
+                .containsExactly(LongStream.rangeClosed(1, 500).map(id -> id * 62).toArray());
+        assertThat(index.search(SearchQuery.parse("дрель 998"))).containsExactly(998 * 31L);
+        assertThat(index.search(SearchQuery.parse("дрель 999"))).isEmpty();
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-сравнение поиска по инвертированному индексу в памяти с поиском ILIKE по таблице items в H2.
+ * Запуск: {@code mvn test -pl server -Dtest=ItemSearchBenchmark -Dbenchmark=true};
+ * размер каталога меняется параметром {@code -Dbenchmark.items=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+    private static final int VOCABULARY = 20_000;
+    private static final int WORDS_PER_DESCRIPTION = 8;
+    private static final String ILIKE_SEARCH = """
+            SELECT i.id FROM items i
+            WHERE i.available = TRUE
+            AND (i.name ILIKE ? OR i.description ILIKE ?)
+            ORDER BY i.id
+            LIMIT 10
+            """;
+
+    @Param("1000000")
+    private int items;
+
+    private Connection connection;
+    private PreparedStatement ilikeSearch;
+    private InvertedIndex index;
+    private SearchQuery query;
+    private String ilikePattern;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Random random = new Random(42);
+        connection = DriverManager.getConnection("jdbc:h2:mem:item-search-benchmark;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE items (
+                        id BIGINT PRIMARY KEY,
+                        name VARCHAR(255),
+                        description TEXT,
+                        available BOOLEAN
+                    )
+                    """);
+        }
+        index = new InvertedIndex();
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO items VALUES (?, ?, ?, TRUE)")) {
+            for (int id = 1; id <= items; id++) {
+                String name = word(random) + " " + word(random);
+                StringBuilder description = new StringBuilder();
+                for (int i = 0; i < WORDS_PER_DESCRIPTION; i++) {
+                    description.append(word(random)).append(' ');
+                }
+                insert.setLong(1, id);
+                insert.setString(2, name);
+                insert.setString(3, description.toString());
+                insert.addBatch();
+                if (id % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+                index.put(id, name, description.toString(), true);
+            }
+            insert.executeBatch();
+        }
+        ilikeSearch = connection.prepareStatement(ILIKE_SEARCH);
+        String term = "w" + (VOCABULARY / 2);
+        query = SearchQuery.parse(term);
+        ilikePattern = "%" + term + "%";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long[] invertedIndex() {
+        return index.search(query);
+    }
+
+    @Benchmark
+    public int sqlIlike() throws SQLException {
+        ilikeSearch.setString(1, ilikePattern);
+        ilikeSearch.setString(2, ilikePattern);
+        int found = 0;
+        try (ResultSet resultSet = ilikeSearch.executeQuery()) {
+            while (resultSet.next()) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ItemSearchBenchmark.class.getName())
+                .param("items", System.getProperty("benchmark.items", "1000000"))
+                .jvmArgsAppend("-Xmx4g")
+                .build())
+                .run();
+    }
+
+    private static String word(Random random) {
+        return "w" + random.nextInt(VOCABULARY);
+    }
+}
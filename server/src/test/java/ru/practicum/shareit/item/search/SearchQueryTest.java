@@ -0,0 +1,42 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchQueryTest {
+
+    @Test
+    void parse_shouldSplitOnNonWordCharactersAndLowerCase() {
+        SearchQuery query = SearchQuery.parse("  Дрель, АККУМ-дрель!! дрель ");
+
+        assertThat(query.tokens()).containsExactly("дрель", "аккум");
+    }
+
+    @Test
+    void parse_shouldBeEmpty_whenTextHasNoWords() {
+        assertThat(SearchQuery.parse(" ,.! ").isEmpty()).isTrue();
+    }
+
+    @Test
+    void toTsQuery_shouldRequireEveryWordAsPrefix() {
+        assertThat(SearchQuery.parse("drill power").toTsQuery()).isEqualTo("drill:* & power:*");
+    }
+
+    @Test
+    void toPattern_shouldMatchAllWordsInAnyOrder() {
+        String pattern = SearchQuery.parse("power drill").toPattern();
+
+        assertThat("cordless drill\nwith power pack").matches(pattern);
+        assertThat("cordless drill").doesNotMatch(pattern);
+    }
+
+    @Test
+    void toPattern_shouldMatchWordPrefixesLikeTsQuery() {
+        String pattern = SearchQuery.parse("дрел").toPattern();
+
+        assertThat("аккумуляторная дрель").matches(pattern);
+        assertThat("аккум-дрель").matches(pattern);
+        assertThat("мегадрель").doesNotMatch(pattern);
+    }
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.util.exception.NotFoundException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+class UserServiceCacheTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Cache users;
+
+    @BeforeEach
+    void setUp() {
+        users = cacheManager.getCache(UserService.USERS_CACHE);
+        users.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void findById_shouldServeRepeatedLookupsFromCache() {
+        User user = userRepository.save(User.builder().name("John Doe").email("john@example.com").build());
+        double hitsBefore = cacheGets("hit");
+        double missesBefore = cacheGets("miss");
+
+        userService.findById(user.getId());
+        userService.findById(user.getId());
+
+        assertThat(cacheGets("miss") - missesBefore).isEqualTo(1);
+        assertThat(cacheGets("hit") - hitsBefore).isEqualTo(1);
+    }
+
+    @Test
+    void findById_shouldReturnCopyOfCachedUser() {
+        User user = userRepository.save(User.builder().name("John Doe").email("john@example.com").build());
+
+        userService.findById(user.getId()).setName("Changed");
+
+        assertThat(users.get(user.getId()).get()).isInstanceOf(CachedUser.class);
+        assertThat(userService.findById(user.getId()).getName()).isEqualTo("John Doe");
+    }
+
+    @Test
+    void findById_shouldNotCacheMissingUser() {
+        assertThatThrownBy(() -> userService.findById(999L)).isInstanceOf(NotFoundException.class);
+
+        assertThat(users.get(999L)).isNull();
+    }
+
+    @Test
+    void partialUpdate_shouldEvictCachedUser() {
+        User user = userRepository.save(User.builder().name("John Doe").email("john@example.com").build());
+        userService.findById(user.getId());
+
+        userService.partialUpdate(User.builder().id(user.getId()).name("Johnny").build());
+
+        assertThat(users.get(user.getId())).isNull();
+        assertThat(userService.findById(user.getId()).getName()).isEqualTo("Johnny");
+    }
+
+    @Test
+    void delete_shouldEvictCachedUser() {
+        User user = userRepository.save(User.builder().name("John Doe").email("john@example.com").build());
+        userService.findById(user.getId());
+
+        userService.delete(user.getId());
+
+        assertThatThrownBy(() -> userService.findById(user.getId()))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining("не найден");
+    }
+
+    @Test
+    void delete_shouldEvictCachedUser_afterCommit() {
+        User user = userRepository.save(User.builder().name("John Doe").email("john@example.com").build());
+        userService.findById(user.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.delete(user.getId());
+            assertThat(users.get(user.getId())).isNotNull();
+        });
+
+        assertThat(users.get(user.getId())).isNull();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", UserService.USERS_CACHE)
+                .tag("cache.manager", "cacheManager")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
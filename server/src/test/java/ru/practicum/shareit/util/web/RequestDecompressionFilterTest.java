@@ -0,0 +1,199 @@
+package ru.practicum.shareit.util.web;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.util.ErrorHandler;
+import ru.practicum.shareit.util.exception.PayloadTooLargeException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class RequestDecompressionFilterTest {
+    private static final String BODY = "{\"name\":\"Дрель\",\"description\":\"Мощная дрель\",\"available\":true}";
+
+    private final RequestDecompressionFilter filter = new RequestDecompressionFilter(DataSize.ofKilobytes(1));
+
+    @Test
+    void doFilter_shouldUnpackGzipBody() throws Exception {
+        MockHttpServletRequest request = request("gzip", gzip(BODY));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotSameAs(request);
+        assertThat(new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8))
+                .isEqualTo(BODY);
+        assertThat(((HttpServletRequest) chain.getRequest())
+                .getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(chain.getRequest().getContentLengthLong()).isEqualTo(-1);
+    }
+
+    @Test
+    void doFilter_shouldUnpackDeflateBody() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("deflate", deflate(BODY)), new MockHttpServletResponse(), chain);
+
+        assertThat(new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8))
+                .isEqualTo(BODY);
+    }
+
+    @Test
+    void doFilter_shouldPassUncompressedRequestAsIs() throws Exception {
+        MockHttpServletRequest request = request(null, BODY.getBytes(StandardCharsets.UTF_8));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+
+    @Test
+    void doFilter_shouldRejectUnknownEncoding() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("br", new byte[]{1, 2, 3}), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(415);
+        assertThat(response.getContentAsString()).contains("br");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void doFilter_shouldThrowPayloadTooLarge_whenDecompressedBodyExceedsLimit() {
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                request.getInputStream().readAllBytes();
+            }
+        });
+
+        assertThatThrownBy(() -> filter.doFilter(request("gzip", gzip("0".repeat(1_000_000))),
+                new MockHttpServletResponse(), chain))
+                .isInstanceOf(PayloadTooLargeException.class)
+                .hasMessageContaining("1024");
+    }
+
+    @Test
+    void doFilter_shouldKeepHandlerResponse_whenHandlerHandledLimitError() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                try {
+                    request.getInputStream().readAllBytes();
+                } catch (PayloadTooLargeException e) {
+                    response.setStatus(200);
+                    response.getWriter().write("{\"imported\":1}");
+                }
+            }
+        });
+
+        filter.doFilter(request("deflate", deflate("0".repeat(1_000_000))), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("{\"imported\":1}");
+    }
+
+    @Test
+    void doFilter_shouldPropagateUnrelatedException_afterLimitError() {
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                try {
+                    request.getInputStream().readAllBytes();
+                } catch (IOException e) {
+                    throw new IllegalStateException("Сбой обработчика");
+                }
+            }
+        });
+
+        assertThatThrownBy(() -> filter.doFilter(request("gzip", gzip("0".repeat(1_000_000))),
+                new MockHttpServletResponse(), chain))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Сбой обработчика");
+    }
+
+    @Test
+    void errorHandler_shouldAnswer413_whenRequestBodyExceedsLimit() throws Exception {
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new EchoController())
+                .setControllerAdvice(new ErrorHandler())
+                .addFilters(filter)
+                .build();
+
+        mvc.perform(post("/echo")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content(gzip("{\"name\":\"" + "0".repeat(1_000_000) + "\"}")))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.error").value(containsString("1024")));
+    }
+
+    @Test
+    void doFilter_shouldAcceptBodyOfExactlyLimitSize() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("gzip", gzip("0".repeat(1024))), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest().getInputStream().readAllBytes()).hasSize(1024);
+    }
+
+    @RestController
+    private static class EchoController {
+        @PostMapping("/echo")
+        Map<String, Object> echo(@RequestBody Map<String, Object> body) {
+            return body;
+        }
+    }
+
+    private static MockHttpServletRequest request(String encoding, byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items");
+        request.setContentType("application/json");
+        if (encoding != null) {
+            request.addHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        request.setContent(body);
+        return request;
+    }
+
+    private static byte[] gzip(String value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(value.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] deflate(String value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(bytes)) {
+            deflate.write(value.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
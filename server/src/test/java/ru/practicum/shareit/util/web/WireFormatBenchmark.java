@@ -0,0 +1,133 @@
+package ru.practicum.shareit.util.web;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingRsDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.comment.CommentDto;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.user.User;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-сравнение JSON и Smile на участке шлюз — сервер: кодирование и разбор списков {@link BookingRsDto}
+ * и {@link ItemDto} с настройками Jackson как у Spring Boot. Размер закодированных списков печатается
+ * перед замерами.
+ * Запуск: {@code mvn test -pl server -Dtest=WireFormatBenchmark -Dbenchmark=true};
+ * длина списков меняется параметром {@code -Dbenchmark.size=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+    private static final TypeReference<List<BookingRsDto>> BOOKINGS = new TypeReference<>() {
+    };
+    private static final TypeReference<List<ItemDto>> ITEMS = new TypeReference<>() {
+    };
+
+    @Param({"json", "smile"})
+    private String format;
+
+    @Param("100")
+    private int size;
+
+    private ObjectMapper mapper;
+    private List<BookingRsDto> bookings;
+    private List<ItemDto> items;
+    private byte[] encodedBookings;
+    private byte[] encodedItems;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .modules(new JavaTimeModule())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (format.equals("smile")) {
+            builder.factory(new SmileFactory());
+        }
+        mapper = builder.build();
+        bookings = new ArrayList<>(size);
+        items = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+        for (long id = 1; id <= size; id++) {
+            User owner = new User(id, "Владелец " + id, "owner" + id + "@example.com");
+            User booker = new User(id + size, "Арендатор " + id, "booker" + id + "@example.com");
+            Item item = Item.builder()
+                    .id(id)
+                    .name("Дрель " + id)
+                    .description("Ударная дрель с набором свёрл, кейс и запасная щётка")
+                    .available(true)
+                    .owner(owner)
+                    .build();
+            bookings.add(new BookingRsDto(id, now.plusDays(id), now.plusDays(id + 2), item, booker,
+                    BookingStatus.APPROVED));
+            items.add(new ItemDto(id, item.getName(), item.getDescription(), true, owner, null,
+                    now.minusDays(id), now.plusDays(id),
+                    List.of(new CommentDto(id, "Всё отлично, спасибо!", booker.getId(), booker.getName(),
+                            now.minusDays(id).plusHours(3)))));
+        }
+        encodedBookings = mapper.writeValueAsBytes(bookings);
+        encodedItems = mapper.writeValueAsBytes(items);
+        System.out.printf("%s: bookings %d B, items %d B%n", format, encodedBookings.length, encodedItems.length);
+    }
+
+    @Benchmark
+    public byte[] encodeBookings() throws IOException {
+        return mapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public List<BookingRsDto> decodeBookings() throws IOException {
+        return mapper.readValue(encodedBookings, BOOKINGS);
+    }
+
+    @Benchmark
+    public byte[] encodeItems() throws IOException {
+        return mapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public List<ItemDto> decodeItems() throws IOException {
+        return mapper.readValue(encodedItems, ITEMS);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WireFormatBenchmark.class.getName())
+                .param("size", System.getProperty("benchmark.size", "100"))
+                .build())
+                .run();
+    }
+}